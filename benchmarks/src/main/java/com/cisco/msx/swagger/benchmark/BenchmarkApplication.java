@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.benchmark;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BenchmarkApplication. Minimal service with MSX Swagger and a {@link SyntheticApi} of configurable size,
+ * served by embedded Jetty on a random port.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+public class BenchmarkApplication {
+
+    @Bean
+    public SyntheticApi syntheticApi(RequestMappingHandlerMapping requestMappingHandlerMapping,
+                                     @Value("${" + SyntheticApi.ENDPOINTS_PROPERTY + ":10}") int endpoints) {
+        return new SyntheticApi(requestMappingHandlerMapping, endpoints);
+    }
+
+    /**
+     * @param endpoints number of synthetic endpoints
+     * @param args additional application arguments
+     * @return running application
+     */
+    public static ConfigurableApplicationContext start(int endpoints, String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.cloud.consul.enabled=false",
+                "--" + SyntheticApi.ENDPOINTS_PROPERTY + "=" + endpoints));
+        arguments.addAll(Arrays.asList(args));
+        return SpringApplication.run(BenchmarkApplication.class, arguments.toArray(new String[0]));
+    }
+}
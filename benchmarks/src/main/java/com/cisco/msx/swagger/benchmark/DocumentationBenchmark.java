@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.benchmark;
+
+import com.cisco.msx.swagger.config.SwaggerDocketConfiguration;
+import com.cisco.msx.swagger.docs.ApiDocs;
+import com.cisco.msx.swagger.docs.DocumentationApiDocsSource;
+import com.cisco.msx.swagger.plugins.CachingRequestHandlerProvider;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DocumentationBenchmark. Measures, per API size, building the default Docket, springfox documenting all
+ * Dockets (request handler scan included) and rendering the Swagger 2 JSON of the default group.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentationBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    public int endpoints;
+
+    private ConfigurableApplicationContext context;
+    private SwaggerDocketConfiguration docketConfiguration;
+    private DocumentationPluginsBootstrapper bootstrapper;
+    private DocumentationCache documentationCache;
+    private DocumentationApiDocsSource apiDocsSource;
+    private String groupName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(endpoints);
+        docketConfiguration = context.getBean(SwaggerDocketConfiguration.class);
+        bootstrapper = context.getBean(DocumentationPluginsBootstrapper.class);
+        documentationCache = context.getBean(DocumentationCache.class);
+        apiDocsSource = new DocumentationApiDocsSource(
+                documentationCache,
+                context.getBean(ServiceModelToSwagger2Mapper.class),
+                DocumentationApiDocsSource.swaggerObjectMapper(
+                        new JsonFactory(),
+                        new ArrayList<>(context.getBeansOfType(JacksonModuleRegistrar.class).values())));
+        groupName = context.getBean("swaggerDocket", Docket.class).getGroupName();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Docket docketBuild() {
+        return docketConfiguration.swaggerDocket();
+    }
+
+    @Benchmark
+    public DocumentationCache documentation() {
+        bootstrapper.stop();
+        context.getBeansOfType(RequestHandlerProvider.class).values().stream()
+                .filter(CachingRequestHandlerProvider.class::isInstance)
+                .forEach(provider -> ((CachingRequestHandlerProvider) provider).reset());
+        bootstrapper.start();
+        return documentationCache;
+    }
+
+    @Benchmark
+    public ApiDocs serialization() {
+        return apiDocsSource.render(groupName, apiDocsSource.version(groupName));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.benchmark;
+
+import com.cisco.msx.utils.FunctionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderedSortBenchmark. Compares sorting beans with the {@link FunctionUtils#reversedOrderedFirst()} comparator,
+ * which resolves orders on every comparison, with {@link FunctionUtils#sortedReversedOrderedFirst}, which
+ * resolves each element's order once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderedSortBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int beans;
+
+    private List<Object> items;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        items = new ArrayList<>(beans);
+        for (int i = 0; i < beans; i++) {
+            switch (i % 4) {
+                case 0:
+                    items.add(new OrderedBean(random.nextInt(100)));
+                    break;
+                case 1:
+                    items.add(new AnnotatedBean());
+                    break;
+                case 2:
+                    items.add(new SubclassOfAnnotatedBean());
+                    break;
+                default:
+                    items.add(new Object());
+                    break;
+            }
+        }
+        Collections.shuffle(items, random);
+    }
+
+    @Benchmark
+    public List<Object> comparator() {
+        List<Object> sorted = new ArrayList<>(items);
+        sorted.sort(FunctionUtils.reversedOrderedFirst());
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Object> orderKeys() {
+        return FunctionUtils.sortedReversedOrderedFirst(items);
+    }
+
+    static class OrderedBean implements Ordered {
+        private final int order;
+
+        OrderedBean(int order) {
+            this.order = order;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    @Order(10)
+    static class AnnotatedBean {
+    }
+
+    static class SubclassOfAnnotatedBean extends AnnotatedBean {
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.benchmark;
+
+import lombok.Data;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SyntheticApi. Registers a configurable number of endpoints directly on the {@link RequestMappingHandlerMapping},
+ * five operations (list, get, create, update, delete) per resource, all using a nested DTO graph.
+ *
+ * Endpoints are registered before springfox documents the API.
+ */
+public class SyntheticApi implements SmartInitializingSingleton {
+
+    public static final String ENDPOINTS_PROPERTY = "synthetic.endpoints";
+    public static final int OPERATIONS_PER_RESOURCE = 5;
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final int endpoints;
+    private final ResourceController controller = new ResourceController();
+
+    public SyntheticApi(RequestMappingHandlerMapping handlerMapping, int endpoints) {
+        this.handlerMapping = handlerMapping;
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int resources = Math.max(1, endpoints / OPERATIONS_PER_RESOURCE);
+        for (int i = 0; i < resources; i++) {
+            String base = "/api/v1/resource" + i;
+            register(base, RequestMethod.GET, "list", Integer.class, Integer.class);
+            register(base + "/{id}", RequestMethod.GET, "get", String.class);
+            register(base, RequestMethod.POST, "create", Item.class);
+            register(base + "/{id}", RequestMethod.PUT, "update", String.class, Item.class);
+            register(base + "/{id}", RequestMethod.DELETE, "delete", String.class);
+        }
+    }
+
+    private void register(String path, RequestMethod requestMethod, String methodName, Class<?>... parameterTypes) {
+        Method method = ReflectionUtils.findMethod(ResourceController.class, methodName, parameterTypes);
+        handlerMapping.registerMapping(
+                RequestMappingInfo.paths(path).methods(requestMethod).build(),
+                controller,
+                method);
+    }
+
+    /**
+     * Handler of all synthetic endpoints, deliberately not annotated as controller
+     */
+    public static class ResourceController {
+
+        public List<Item> list(@RequestParam(value = "page", required = false) Integer page,
+                               @RequestParam(value = "size", required = false) Integer size) {
+            return List.of();
+        }
+
+        public Item get(@PathVariable("id") String id) {
+            return new Item();
+        }
+
+        public Item create(@RequestBody Item item) {
+            return item;
+        }
+
+        public Item update(@PathVariable("id") String id, @RequestBody Item item) {
+            return item;
+        }
+
+        public void delete(@PathVariable("id") String id) {
+            // nothing to delete
+        }
+    }
+
+    @Data
+    public static class Item {
+        private String id;
+        private String name;
+        private Owner owner;
+        private List<Tag> tags;
+        private Map<String, String> attributes;
+    }
+
+    @Data
+    public static class Owner {
+        private String id;
+        private String email;
+        private Address address;
+    }
+
+    @Data
+    public static class Address {
+        private String street;
+        private String city;
+        private String country;
+    }
+
+    @Data
+    public static class Tag {
+        private String key;
+        private String value;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.autoconfigure.swagger;
+
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerBootstrap;
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerSource;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns off springfox's documentation bootstrap during context refresh when API docs don't need
+ * to be scanned at startup, i.e. when they are served from the classpath or bootstrapped lazily.
+ *
+ * Runs after application properties are loaded, and never overrides an explicitly configured
+ * "springfox.documentation.auto-startup".
+ */
+public class SwaggerBootstrapEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    public static final String PROPERTY_SOURCE_NAME = "msxSwaggerBootstrap";
+    public static final String SPRINGFOX_AUTO_STARTUP = "springfox.documentation.auto-startup";
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.containsProperty(SPRINGFOX_AUTO_STARTUP)
+                || !environment.getProperty("swagger.enabled", Boolean.class, true)) {
+            return;
+        }
+
+        Map<String, Object> properties = new HashMap<>();
+        if (isClasspathSource(environment) || isLazyBootstrap(environment)) {
+            properties.put(SPRINGFOX_AUTO_STARTUP, "false");
+        }
+        if (!properties.isEmpty()) {
+            environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, properties));
+        }
+    }
+
+    private boolean isLazyBootstrap(ConfigurableEnvironment environment) {
+        return SwaggerBootstrap.LAZY.name().equalsIgnoreCase(environment.getProperty("swagger.bootstrap", ""));
+    }
+
+    private boolean isClasspathSource(ConfigurableEnvironment environment) {
+        return SwaggerSource.CLASSPATH.name().equalsIgnoreCase(environment.getProperty("swagger.source", ""));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.autoconfigure.swagger;
+
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.cisco.msx.swagger.config.SwaggerCoreConfiguration;
+import com.cisco.msx.swagger.config.SwaggerDocketConfiguration;
+import com.cisco.msx.swagger.config.SwaggerGroupsRegistrar;
+import com.cisco.msx.swagger.config.SwaggerMetricsConfiguration;
+import com.cisco.msx.swagger.config.SwaggerProperties;
+import com.cisco.msx.swagger.config.SwaggerWebFluxConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.web.reactive.DispatcherHandler;
+import springfox.documentation.swagger2.annotations.EnableSwagger2;
+
+/**
+ * Auto Configuration of Springfox swagger for reactive (WebFlux) applications.
+ * Microservices should provide bean implementing {@link SwaggerConfigurer}
+ * to customize swagger configurations, same as with {@link SwaggerAutoConfiguration}
+ */
+@EnableSwagger2
+@Configuration
+@Import({
+        SwaggerCoreConfiguration.class,
+        SwaggerDocketConfiguration.class,
+        SwaggerGroupsRegistrar.class,
+        SwaggerWebFluxConfiguration.class,
+        SwaggerMetricsConfiguration.class,
+})
+@AutoConfigureBefore(WebFluxAutoConfiguration.class)
+@EnableConfigurationProperties({SwaggerProperties.class, ServerProperties.class})
+@PropertySource({"classpath:defaults-swagger.properties"})
+@ConditionalOnClass(value = DispatcherHandler.class,
+        name = "springfox.documentation.spring.web.SpringfoxWebFluxConfiguration")
+@ConditionalOnWebApplication(type=ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name="swagger.enabled", matchIfMissing=true)
+public class SwaggerWebFluxAutoConfiguration {
+
+}
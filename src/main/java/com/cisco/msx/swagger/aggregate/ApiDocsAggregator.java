@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.aggregate;
+
+import com.cisco.msx.swagger.docs.ApiDocs;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+import springfox.documentation.swagger.web.SwaggerResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * ApiDocsAggregator. Collects the API docs of services found through the {@link DiscoveryClient}: for every
+ * service, the swagger-resources listing of one of its instances and the document of each listed group.
+ *
+ * Requests run on a bounded executor, each with a timeout. Documents are kept per service and refreshed with
+ * conditional GETs (If-None-Match with the ETag the service answered, or the document's hash), so unchanged
+ * documents cost a 304. Services answering 404 aren't documented and are dropped; services failing otherwise keep
+ * their previous documents. Refreshes are coalesced, and triggered by reads once the refresh interval passed.
+ */
+@Slf4j
+public class ApiDocsAggregator implements DisposableBean {
+
+    private static final TypeReference<List<SwaggerResource>> RESOURCES = new TypeReference<List<SwaggerResource>>() {};
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectReader resourcesReader;
+    private final Predicate<String> serviceFilter;
+    private final String resourcesPath;
+    private final String contextPathMetadata;
+    private final Duration timeout;
+    private final Duration refreshInterval;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Map<String, ServiceApiDocs> services = new ConcurrentHashMap<>();
+    private CompletableFuture<Void> refresh;
+    private volatile boolean refreshed;
+    private volatile long refreshedAt;
+
+    /**
+     * @param discoveryClient client to find services and their instances
+     * @param objectMapper mapper to read swagger-resources listings with
+     * @param serviceFilter services to aggregate
+     * @param resourcesPath path of the swagger-resources listing within an instance's context path
+     * @param contextPathMetadata instance metadata key of the context path
+     * @param timeout connect and request timeout of each request
+     * @param refreshInterval min time between refreshes triggered by reads
+     * @param maxConcurrentRequests max requests to services in flight
+     */
+    public ApiDocsAggregator(DiscoveryClient discoveryClient,
+                             ObjectMapper objectMapper,
+                             Predicate<String> serviceFilter,
+                             String resourcesPath,
+                             String contextPathMetadata,
+                             Duration timeout,
+                             Duration refreshInterval,
+                             int maxConcurrentRequests) {
+        this.discoveryClient = discoveryClient;
+        this.resourcesReader = objectMapper.readerFor(RESOURCES).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.serviceFilter = serviceFilter;
+        this.resourcesPath = resourcesPath;
+        this.contextPathMetadata = contextPathMetadata;
+        this.timeout = timeout;
+        this.refreshInterval = refreshInterval;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("swagger-aggregate-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentRequests), threadFactory);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * @return documents of all aggregated services, sorted by service name. Waits for the first refresh
+     */
+    public Collection<ServiceApiDocs> getServices() {
+        awaitFirstRefresh(refreshIfStale());
+        return Collections.unmodifiableCollection(new TreeMap<>(services).values());
+    }
+
+    /**
+     * @param service name of the service
+     * @param group name of the group
+     * @return the group's document as last fetched, empty if the service or group isn't known
+     */
+    public Optional<ApiDocs> get(String service, String group) {
+        awaitFirstRefresh(refreshIfStale());
+        return Optional.ofNullable(services.get(service)).map(docs -> docs.getGroups().get(group));
+    }
+
+    /**
+     * Refresh all services, joining a refresh already in progress
+     *
+     * @return completes once all services are refreshed, never exceptionally
+     */
+    public synchronized CompletableFuture<Void> refresh() {
+        if (refresh == null || refresh.isDone()) {
+            refresh = CompletableFuture.supplyAsync(this::discover, executor)
+                    .thenCompose(names -> CompletableFuture.allOf(names.stream()
+                            .map(this::refreshService)
+                            .toArray(CompletableFuture[]::new)))
+                    .handle((ignored, e) -> {
+                        if (e != null) {
+                            log.warn("Failed to discover services to aggregate API docs of", e);
+                        }
+                        refreshedAt = System.nanoTime();
+                        refreshed = true;
+                        return null;
+                    });
+        }
+        return refresh;
+    }
+
+    protected synchronized CompletableFuture<Void> refreshIfStale() {
+        if (!refreshed || System.nanoTime() - refreshedAt > refreshInterval.toNanos()) {
+            return refresh();
+        }
+        return refresh;
+    }
+
+    private void awaitFirstRefresh(CompletableFuture<Void> refresh) {
+        if (refreshed) {
+            return;
+        }
+        try {
+            refresh.get(timeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            log.debug("API docs aggregation still in progress", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected List<String> discover() {
+        List<String> names = discoveryClient.getServices().stream()
+                .filter(serviceFilter)
+                .sorted()
+                .collect(Collectors.toList());
+        services.keySet().retainAll(names);
+        return names;
+    }
+
+    protected CompletableFuture<Void> refreshService(String service) {
+        return CompletableFuture.supplyAsync(() -> baseUri(service), executor)
+                .thenCompose(baseUri -> baseUri == null
+                        ? CompletableFuture.completedFuture(null)
+                        : fetchResources(baseUri).thenCompose(resources -> fetchGroups(service, baseUri, resources)))
+                .handle((docs, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to aggregate API docs of service [{}], keeping previous documents", service,
+                                e instanceof CompletionException ? e.getCause() : e);
+                    } else if (docs == null) {
+                        services.remove(service);
+                    } else {
+                        services.put(service, docs);
+                    }
+                    return null;
+                });
+    }
+
+    private String baseUri(String service) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(service);
+        if (instances.isEmpty()) {
+            return null;
+        }
+        ServiceInstance instance = instances.get(0);
+        String contextPath = instance.getMetadata() == null ? null : instance.getMetadata().get(contextPathMetadata);
+        String baseUri = StringUtils.trimTrailingCharacter(instance.getUri().toString(), '/');
+        if (StringUtils.hasText(contextPath)) {
+            baseUri += (contextPath.startsWith("/") ? "" : "/") + StringUtils.trimTrailingCharacter(contextPath, '/');
+        }
+        return baseUri;
+    }
+
+    private CompletableFuture<List<SwaggerResource>> fetchResources(String baseUri) {
+        HttpRequest request = request(URI.create(baseUri + resourcesPath)).build();
+        return send(request).thenApply(response -> {
+            if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                return Collections.emptyList();
+            }
+            checkStatus(request, response);
+            try {
+                return resourcesReader.readValue(response.body());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private CompletableFuture<ServiceApiDocs> fetchGroups(String service, String baseUri, List<SwaggerResource> resources) {
+        if (resources.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ServiceApiDocs previous = services.get(service);
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> fetches = new LinkedHashMap<>();
+        for (SwaggerResource resource : resources) {
+            HttpRequest.Builder request = request(resolve(baseUri, resource.getUrl()));
+            if (previous != null && previous.getEtags().containsKey(resource.getName())) {
+                request.header(HttpHeaders.IF_NONE_MATCH, previous.getEtags().get(resource.getName()));
+            }
+            fetches.put(resource.getName(), send(request.build()));
+        }
+        return CompletableFuture.allOf(fetches.values().toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Map<String, ApiDocs> groups = new LinkedHashMap<>();
+            Map<String, String> etags = new LinkedHashMap<>();
+            fetches.forEach((group, fetch) -> {
+                HttpResponse<byte[]> response = fetch.join();
+                ApiDocs docs;
+                String etag;
+                if (response.statusCode() == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+                    docs = previous.getGroups().get(group);
+                    etag = previous.getEtags().get(group);
+                } else {
+                    checkStatus(response.request(), response);
+                    docs = ApiDocs.of(response.body());
+                    etag = response.headers().firstValue(HttpHeaders.ETAG).orElse(docs.getEtag());
+                }
+                groups.put(group, docs);
+                etags.put(group, etag);
+            });
+            return new ServiceApiDocs(service, baseUri, Collections.unmodifiableMap(groups), Collections.unmodifiableMap(etags));
+        });
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET();
+    }
+
+    private static URI resolve(String baseUri, String url) {
+        return url.startsWith("http://") || url.startsWith("https://") ? URI.create(url) : URI.create(baseUri + url);
+    }
+
+    /**
+     * Send on the bounded executor, the executor's size limits the requests in flight
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException(request.uri() + ": " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private static void checkStatus(HttpRequest request, HttpResponse<?> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.aggregate;
+
+import com.cisco.msx.swagger.docs.ApiDocs;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * ServiceApiDocs. The API docs of all groups of one discovered service, as last fetched by {@link ApiDocsAggregator}.
+ */
+@Value
+public class ServiceApiDocs {
+
+    String service;
+
+    /** base URI of the instance the documents were fetched from, including its context path */
+    String baseUri;
+
+    /** documents by group name, in the order of the service's swagger-resources listing */
+    Map<String, ApiDocs> groups;
+
+    /** entity tags the service answered per group, used for conditional refresh */
+    Map<String, String> etags;
+}
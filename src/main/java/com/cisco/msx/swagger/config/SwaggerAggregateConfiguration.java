@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.config;
+
+import com.cisco.msx.swagger.aggregate.ApiDocsAggregator;
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerAggregateProperties;
+import com.cisco.msx.swagger.controller.AggregatedApiDocsController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Aggregation of the API docs of discovered services ("swagger.aggregate.enabled"). The service itself
+ * is left out, its own documents are served as usual.
+ */
+@Configuration
+@ConditionalOnClass(DiscoveryClient.class)
+@ConditionalOnProperty(name="swagger.aggregate.enabled")
+public class SwaggerAggregateConfiguration {
+
+    @Bean
+    public ApiDocsAggregator apiDocsAggregator(
+            DiscoveryClient discoveryClient,
+            ObjectProvider<ObjectMapper> objectMapper,
+            SwaggerProperties swaggerProperties,
+            Environment environment) {
+        SwaggerAggregateProperties aggregate = swaggerProperties.getAggregate();
+        String self = environment.getProperty("spring.application.name");
+        List<String> services = aggregate.getServices();
+        String resourcesPath = environment.getProperty(SwaggerBootstrapConfiguration.SWAGGER_UI_BASE_URL_PROPERTY, "")
+                + SwaggerBootstrapConfiguration.SWAGGER_RESOURCES_PATH;
+        return new ApiDocsAggregator(
+                discoveryClient,
+                objectMapper.getIfAvailable(ObjectMapper::new),
+                service -> !service.equals(self) && (services.isEmpty() || services.contains(service)),
+                resourcesPath,
+                aggregate.getContextPathMetadata(),
+                aggregate.getTimeout(),
+                aggregate.getRefreshInterval(),
+                aggregate.getMaxConcurrentRequests());
+    }
+
+    @Bean
+    public AggregatedApiDocsController aggregatedApiDocsController(
+            ApiDocsAggregator apiDocsAggregator,
+            SwaggerProperties swaggerProperties) {
+        return new AggregatedApiDocsController(apiDocsAggregator, swaggerProperties.getAggregate().getPath());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.config;
+
+import com.cisco.msx.swagger.docs.ApiDocsExecutor;
+import com.cisco.msx.swagger.docs.LazyDocumentationBootstrapper;
+import com.cisco.msx.swagger.docs.LazyDocumentationFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+import java.util.Set;
+
+/**
+ * Lazy documentation bootstrap ("swagger.bootstrap=lazy"). springfox's bootstrap is turned off during
+ * context refresh (see SwaggerBootstrapEnvironmentPostProcessor) and run later by
+ * {@link LazyDocumentationBootstrapper} instead.
+ */
+@Configuration
+@ConditionalOnProperty(name="swagger.bootstrap", havingValue="lazy")
+public class SwaggerBootstrapConfiguration {
+
+    public static final String SWAGGER_RESOURCES_PATH = "/swagger-resources";
+    public static final String SWAGGER_UI_BASE_URL_PROPERTY = "springfox.documentation.swagger-ui.base-url";
+
+    @Bean
+    public LazyDocumentationBootstrapper lazyDocumentationBootstrapper(
+            DocumentationPluginsBootstrapper documentationPluginsBootstrapper) {
+        return new LazyDocumentationBootstrapper(documentationPluginsBootstrapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LazyDocumentationFilter> lazyDocumentationFilter(
+            LazyDocumentationBootstrapper lazyDocumentationBootstrapper,
+            SwaggerProperties swaggerProperties,
+            ObjectProvider<ApiDocsExecutor> apiDocsExecutor,
+            Environment environment) {
+        String docsPath = environment.getProperty(SwaggerDocsConfiguration.DOCS_PATH_PROPERTY, SwaggerDocsConfiguration.DEFAULT_DOCS_PATH);
+        String resourcesPath = environment.getProperty(SWAGGER_UI_BASE_URL_PROPERTY, "") + SWAGGER_RESOURCES_PATH;
+        String uiEndpoint = swaggerProperties.getUi().getEndpoint();
+
+        FilterRegistrationBean<LazyDocumentationFilter> registration = new FilterRegistrationBean<>(
+                new LazyDocumentationFilter(lazyDocumentationBootstrapper, Set.of(uiEndpoint), apiDocsExecutor.getIfAvailable()));
+        registration.addUrlPatterns(docsPath, resourcesPath, resourcesPath + "/*", uiEndpoint);
+        // documentation must be in place before it's served, e.g. by the API docs cache
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 100);
+        return registration;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.config;
+
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerOAuthProperties;
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerSsoProperties;
+import com.cisco.msx.swagger.controller.AdditionalApiResourcesController.SsoSecurityConfiguration;
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerGroupProperties;
+import com.cisco.msx.swagger.plugins.CachingRequestHandlerProviderPostProcessor;
+import com.cisco.msx.swagger.plugins.ParallelDocumentationPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsManager;
+import springfox.documentation.swagger.web.SecurityConfiguration;
+import springfox.documentation.swagger.web.SecurityConfigurationBuilder;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Beans shared by the servlet and the reactive auto configuration: request handler caching and
+ * the OAuth2 and SSO security configurations of the UI.
+ */
+@Configuration
+public class SwaggerCoreConfiguration {
+
+	/**
+	 * Scan request handlers once for all Docket groups
+	 */
+	@Bean
+	@Conditional(OnSwaggerGroupsCondition.class)
+	public static CachingRequestHandlerProviderPostProcessor cachingRequestHandlerProviderPostProcessor() {
+		return new CachingRequestHandlerProviderPostProcessor();
+	}
+
+	/**
+	 * Drop the shared request handler scan once Docket groups are documented, and document them concurrently
+	 * with swagger.bootstrapParallel=true
+	 */
+	@Bean
+	@Conditional(OnSwaggerGroupsCondition.class)
+	public static ParallelDocumentationPostProcessor parallelDocumentationPostProcessor(
+			Environment environment,
+			ObjectProvider<DocumentationPluginsManager> documentationPluginsManager,
+			ObjectProvider<RequestHandlerProvider> requestHandlerProviders) {
+		// bound directly, post processors are created before SwaggerProperties
+		Binder binder = Binder.get(environment);
+		int threads = binder.bind("swagger.bootstrap-parallel", Boolean.class).orElse(false)
+				? binder.bind("swagger.bootstrap-threads", Integer.class).orElse(4)
+				: 1;
+		return new ParallelDocumentationPostProcessor(threads, documentationPluginsManager, requestHandlerProviders);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name="swagger.security.oauth2.enabled")
+	public SecurityConfiguration oauth2SecurityConfiguration(SwaggerProperties swaggerProperties) {
+		SwaggerOAuthProperties oAuthProperties = swaggerProperties.getSecurity().getOauth2();
+		return SecurityConfigurationBuilder.builder()
+				.clientId(oAuthProperties.getClientId())
+				.clientSecret(oAuthProperties.getClientSecret())
+				.build();
+	}
+
+	@Bean
+	@ConditionalOnProperty(name="swagger.security.sso.enabled", matchIfMissing=true)
+	public SsoSecurityConfiguration ssoSecurityConfiguration(SwaggerProperties swaggerProperties) {
+		SwaggerSsoProperties ssoProperties = swaggerProperties.getSecurity().getSso();
+		return SsoSecurityConfiguration.builder()
+				.clientId(ssoProperties.getClientId())
+				.clientSecret(ssoProperties.getClientSecret())
+				.tokenUrl(ssoProperties.getBaseUrl() + ssoProperties.getTokenPath())
+				.authorizeUrl(ssoProperties.getBaseUrl() + ssoProperties.getAuthorizePath())
+				.build();
+	}
+
+	/**
+	 * Matches when Docket groups are configured with swagger.groups, besides the default-api group
+	 */
+	static class OnSwaggerGroupsCondition extends SpringBootCondition {
+
+		@Override
+		public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			Map<String, SwaggerGroupProperties> groups = Binder.get(context.getEnvironment())
+					.bind(SwaggerGroupsRegistrar.GROUPS_PREFIX, Bindable.mapOf(String.class, SwaggerGroupProperties.class))
+					.orElse(Collections.emptyMap());
+			return groups.isEmpty()
+					? ConditionOutcome.noMatch("no " + SwaggerGroupsRegistrar.GROUPS_PREFIX + " configured")
+					: ConditionOutcome.match(groups.size() + " " + SwaggerGroupsRegistrar.GROUPS_PREFIX + " configured");
+		}
+	}
+}
@@ -6,7 +6,13 @@
 package com.cisco.msx.swagger.config;
 
 import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerGroupProperties;
 import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerOAuthProperties;
+import com.cisco.msx.swagger.index.ApiIndex;
+import com.cisco.msx.swagger.metrics.SwaggerMetrics;
+import com.cisco.msx.swagger.schema.IndexedAlternateTypeRule;
+import com.cisco.msx.swagger.security.SecurityReferenceIndex;
+import com.cisco.msx.swagger.selectors.PathSelector;
 import com.cisco.msx.utils.FunctionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -16,6 +22,7 @@ import springfox.documentation.RequestHandler;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.AuthorizationCodeGrantBuilder;
 import springfox.documentation.builders.OAuthBuilder;
+import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.schema.AlternateTypeRule;
 import springfox.documentation.service.*;
 import springfox.documentation.spi.DocumentationType;
@@ -26,11 +33,9 @@ import springfox.documentation.spring.web.plugins.Docket;
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-
-import static springfox.documentation.builders.PathSelectors.regex;
 
 /**
  * Configuration for swagger Docket. If service want to customize it, it should implement
@@ -53,11 +58,16 @@ public class SwaggerDocketConfiguration {
     @Autowired
     protected ServerProperties serverProperties;
 
+    @Autowired(required = false)
+    protected SwaggerMetrics swaggerMetrics = SwaggerMetrics.NONE;
+
+    private Optional<ApiIndex> apiIndex;
+
+    private final SecurityReferenceIndex.ScopeInterner scopeInterner = new SecurityReferenceIndex.ScopeInterner();
+
     @PostConstruct
     public void init() {
-        swaggerConfigurers = swaggerConfigurers.stream()
-                .sorted(FunctionUtils.reversedOrderedFirst())
-                .collect(Collectors.toList());
+        swaggerConfigurers = FunctionUtils.sortedReversedOrderedFirst(swaggerConfigurers);
     }
 
     @Bean
@@ -73,14 +83,18 @@ public class SwaggerDocketConfiguration {
         Predicate<RequestHandler> requestHandlerSelector = getDefaultRequestHandlerPredicate();
 
         // configure apiInfo
-        apiInfoBuilder = applyConfigurers(apiInfoBuilder, (target, configurer) -> configurer.configureApiInfo(target));
+        apiInfoBuilder = applyConfigurers("configureApiInfo", apiInfoBuilder, (target, configurer) -> configurer.configureApiInfo(target));
 
         // configure apiPath
         pathSelector = applyConfigurers(
+                "configureApiPathSelector",
                 pathSelector,
                 (target, configurer) -> configurer.configureApiPathSelector(target)
         );
+        // configurers' predicates are evaluated once per mapping pattern, for all Dockets and security contexts
+        pathSelector = PathSelector.memoize(pathSelector);
         requestHandlerSelector = applyConfigurers(
+                "configureApiRequestHandlerSelector",
                 requestHandlerSelector,
                 (target, configurer) -> configurer.configureApiRequestHandlerSelector(target));
 
@@ -91,6 +105,58 @@ public class SwaggerDocketConfiguration {
                 .build()
                 .apiInfo(apiInfoBuilder.build());
 
+        docket = configureComponents(docket, pathSelector);
+
+        // Last chance to configure it
+        docket = applyConfigurers("configure", docket, (target, configurer) -> configurer.configure(target));
+
+        return docket;
+    }
+
+    /**
+     * Docket of a group configured under "swagger.groups.&lt;name&gt;". Registered per group by
+     * {@link SwaggerGroupsRegistrar}.
+     *
+     * Group's apiInfo and path selector come from its properties. {@link SwaggerConfigurer}s still contribute
+     * request handler selectors, security and alternate type rules, but not apiInfo, paths or the final
+     * configure(), which would override the group settings.
+     *
+     * @param groupName name of the group
+     * @param group group properties
+     * @return configured Docket
+     */
+    public Docket swaggerGroupDocket(String groupName, SwaggerGroupProperties group) {
+        ApiInfoBuilder apiInfoBuilder = getDefaultApiInfoBuilder();
+        Optional.ofNullable(group.getTitle()).ifPresent(apiInfoBuilder::title);
+        Optional.ofNullable(group.getDescription()).ifPresent(apiInfoBuilder::description);
+        Optional.ofNullable(group.getVersion()).ifPresent(apiInfoBuilder::version);
+
+        Predicate<String> pathSelector = group.getPaths().isEmpty()
+                ? getDefaultApiPathPredicate()
+                : PathSelector.builder().includeAnt(group.getPaths()).build();
+        Predicate<RequestHandler> requestHandlerSelector = group.getBasePackages().isEmpty()
+                ? getDefaultRequestHandlerPredicate()
+                : group.getBasePackages().stream().map(RequestHandlerSelectors::basePackage).reduce(Predicate::or).orElseThrow();
+        requestHandlerSelector = applyConfigurers(
+                "configureApiRequestHandlerSelector",
+                requestHandlerSelector,
+                (target, configurer) -> configurer.configureApiRequestHandlerSelector(target));
+
+        Docket docket = new Docket(DocumentationType.SWAGGER_2)
+                .groupName(groupName)
+                .select()
+                .paths(pathSelector)
+                .apis(requestHandlerSelector)
+                .build()
+                .apiInfo(apiInfoBuilder.build());
+
+        return configureComponents(docket, pathSelector);
+    }
+
+    /**
+     * Configure security and alternate type rules of given Docket
+     */
+    protected Docket configureComponents(Docket docket, Predicate<String> pathSelector) {
         // configure security
         List<SecurityContext> securityContexts = new ArrayList<>();
         List<SecurityScheme> securitySchemes = new ArrayList<>();
@@ -107,18 +173,23 @@ public class SwaggerDocketConfiguration {
         List<AlternateTypeRule> alternateTypeRules = new ArrayList<>();
 
         // configure components
-        securityContexts = applyConfigurers(securityContexts, (target, configurer) -> configurer.addSecurityContexts(target));
-        securitySchemes = applyConfigurers(securitySchemes, (target, configurer) -> configurer.addSecuritySchemes(target));
-        alternateTypeRules = applyConfigurers(alternateTypeRules, (target, configurer) -> configurer.addAlternateTypeRules(target));
-        docket
+        securityContexts = applyConfigurers("addSecurityContexts", securityContexts, (target, configurer) -> configurer.addSecurityContexts(target));
+        securitySchemes = applyConfigurers("addSecuritySchemes", securitySchemes, (target, configurer) -> configurer.addSecuritySchemes(target));
+        alternateTypeRules = applyConfigurers("addAlternateTypeRules", alternateTypeRules, (target, configurer) -> configurer.addAlternateTypeRules(target));
+        if (!alternateTypeRules.isEmpty()) {
+            // check rules by raw type and cache substitutions instead of trying every rule on every type
+            List<IndexedAlternateTypeRule> indexedRules = IndexedAlternateTypeRule.index(alternateTypeRules);
+            indexedRules.forEach(rule -> swaggerMetrics.monitorAlternateTypes(docket.getGroupName(), rule));
+            alternateTypeRules = new ArrayList<>(indexedRules);
+        }
+        if (swaggerProperties.getSecurity().isIndexed() && !securityContexts.isEmpty()) {
+            // resolve security references once per mapping pattern instead of sweeping all contexts per operation
+            securityContexts = List.of(new SecurityReferenceIndex(securityContexts));
+        }
+        return docket
                 .alternateTypeRules(alternateTypeRules.toArray(new AlternateTypeRule[0]))
                 .securityContexts(securityContexts)
                 .securitySchemes(securitySchemes);
-
-        // Last chance to configure it
-        docket = applyConfigurers(docket, (target, configurer) -> configurer.configure(target));
-
-        return docket;
     }
     
     protected String getDefaultApiGroupName() {
@@ -137,11 +208,27 @@ public class SwaggerDocketConfiguration {
     }
     
 	protected Predicate<String> getDefaultApiPathPredicate() {
-    	return regex("/api/.*");
+    	return PathSelector.builder().includePrefix("/api/").build();
     }
 
     protected Predicate<RequestHandler> getDefaultRequestHandlerPredicate() {
-        return ApiSelector.DEFAULT.getRequestHandlerSelector();
+        ApiIndex apiIndex = getApiIndex();
+        return apiIndex != null
+                ? apiIndex.requestHandlerSelector()
+                : ApiSelector.DEFAULT.getRequestHandlerSelector();
+    }
+
+    /**
+     * @return compile-time index of documented controllers, null if there is none or it's disabled
+     */
+    protected ApiIndex getApiIndex() {
+        if (!swaggerProperties.getIndex().isEnabled()) {
+            return null;
+        }
+        if (apiIndex == null) {
+            apiIndex = Optional.ofNullable(ApiIndex.load(getClass().getClassLoader()));
+        }
+        return apiIndex.orElse(null);
     }
     
     protected List<AuthorizationScope> getDefaultAuthorizationScopes() {
@@ -150,7 +237,7 @@ public class SwaggerDocketConfiguration {
 
     protected SecurityContext getDefaultSecurityContext(Predicate<String>apiPathSelector) {
 
-        AuthorizationScope[] scopes = getDefaultAuthorizationScopes().toArray(new AuthorizationScope[] {});
+        AuthorizationScope[] scopes = scopeInterner.intern(getDefaultAuthorizationScopes());
 
         SecurityReference securityReference = SecurityReference.builder()
                 .reference(DEFAULT_OAUTH2_SECURITY_DEFINITION_NAME)
@@ -173,6 +260,22 @@ public class SwaggerDocketConfiguration {
                 .reduce(target, operator, (target1, target2) -> target1);
 	}
 
+    /**
+     * Same as {@link #applyConfigurers(Object, BiFunction)}, timing each configurer's hook
+     *
+     * @param hook name of the {@link SwaggerConfigurer} method called by the operator
+     */
+    protected <T> T applyConfigurers(String hook, T target, BiFunction<T, SwaggerConfigurer, T> operator) {
+        return applyConfigurers(target, (current, configurer) -> {
+            long start = System.nanoTime();
+            try {
+                return operator.apply(current, configurer);
+            } finally {
+                swaggerMetrics.recordConfigurer(hook, configurer, System.nanoTime() - start);
+            }
+        });
+    }
+
 	public static SecurityScheme buildOAuth2SecurityScheme(SwaggerOAuthProperties oAuthProperties) {
         List<AuthorizationScope> scopes = new ArrayList<>();
 
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.config;
+
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerDocsAsyncProperties;
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerDocsPublishProperties;
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerSource;
+import com.cisco.msx.swagger.docs.ApiDocsCache;
+import com.cisco.msx.swagger.docs.ApiDocsEncoding;
+import com.cisco.msx.swagger.docs.ApiDocsExecutor;
+import com.cisco.msx.swagger.docs.ApiDocsFilter;
+import com.cisco.msx.swagger.docs.ApiDocsHealthIndicator;
+import com.cisco.msx.swagger.docs.ApiDocsSnapshot;
+import com.cisco.msx.swagger.docs.ApiDocsSource;
+import com.cisco.msx.swagger.docs.ApiDocsSwaggerResourcesProvider;
+import com.cisco.msx.swagger.docs.ApiDocsWarmUp;
+import com.cisco.msx.swagger.docs.ClasspathApiDocsSource;
+import com.cisco.msx.swagger.docs.DocumentationApiDocsSource;
+import com.cisco.msx.swagger.docs.LazyDocumentationBootstrapper;
+import com.cisco.msx.swagger.docs.SnapshotApiDocsSource;
+import com.cisco.msx.swagger.publish.ApiDocsPublisher;
+import com.cisco.msx.swagger.publish.ApiDocsSink;
+import com.cisco.msx.swagger.publish.ConsulApiDocsSink;
+import com.cisco.msx.swagger.publish.DirectoryApiDocsSink;
+import com.ecwid.consul.v1.ConsulClient;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+import springfox.documentation.swagger.web.SwaggerResourcesProvider;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serving of pre-rendered API docs. When enabled, each group's document is rendered once into
+ * immutable bytes (raw and gzip) and answered with ETag / 304 support, instead of being mapped
+ * and serialized again by springfox on every request.
+ *
+ * With "swagger.source=classpath" the documents generated at build time are served instead,
+ * and springfox doesn't scan anything.
+ *
+ * With "swagger.docs.warm-up.enabled=true" all groups are rendered in background after startup.
+ *
+ * With "swagger.docs.snapshot.enabled=true" documents are kept on disk and reused by the next start of
+ * an unchanged application.
+ *
+ * With "swagger.docs.publish.enabled=true" documents are published to Consul or a directory when their hash changes.
+ *
+ * With "swagger.docs.async.enabled=true" documents are generated off the servlet request threads.
+ *
+ * Smile and CBOR encodings are offered by content negotiation when their Jackson modules are present.
+ */
+@Configuration
+@Conditional(SwaggerDocsConfiguration.OnApiDocsServingCondition.class)
+public class SwaggerDocsConfiguration {
+
+    public static final String DOCS_PATH_PROPERTY = "springfox.documentation.swagger.v2.path";
+    public static final String DEFAULT_DOCS_PATH = "/v2/api-docs";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiDocsSource apiDocsSource(SwaggerProperties swaggerProperties,
+                                       ApplicationContext applicationContext,
+                                       ObjectProvider<DocumentationCache> documentationCache,
+                                       ObjectProvider<ServiceModelToSwagger2Mapper> serviceModelToSwagger2Mapper,
+                                       List<JacksonModuleRegistrar> jacksonModuleRegistrars,
+                                       ObjectProvider<ApiDocsSnapshot> apiDocsSnapshot) {
+        if (swaggerProperties.getSource() == SwaggerSource.CLASSPATH) {
+            return new ClasspathApiDocsSource(applicationContext.getClassLoader(), swaggerProperties.getDocs().getLocation());
+        }
+        ApiDocsSource source = new DocumentationApiDocsSource(
+                documentationCache.getObject(),
+                serviceModelToSwagger2Mapper.getObject(),
+                DocumentationApiDocsSource.swaggerObjectMapper(new JsonFactory(), jacksonModuleRegistrars));
+        ApiDocsSnapshot snapshot = apiDocsSnapshot.getIfAvailable();
+        return snapshot == null ? source : new SnapshotApiDocsSource(source, snapshot);
+    }
+
+    @Bean
+    public ApiDocsCache apiDocsCache(ApiDocsSource apiDocsSource, SwaggerProperties swaggerProperties) {
+        return new ApiDocsCache(
+                apiDocsSource,
+                new ObjectMapper(),
+                swaggerProperties.getDocs().getCache().getMaxHostVariants(),
+                swaggerProperties.getDocs().getCache().getMaxSlices(),
+                swaggerProperties.getDocs().getBinary().isMachineProfile());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ApiDocsFilter> apiDocsFilter(
+            ApiDocsCache apiDocsCache,
+            SwaggerProperties swaggerProperties,
+            ObjectProvider<ApiDocsExecutor> apiDocsExecutor,
+            @Value("${" + DOCS_PATH_PROPERTY + ":" + DEFAULT_DOCS_PATH + "}") String docsPath) {
+        Set<ApiDocsEncoding> encodings = EnumSet.noneOf(ApiDocsEncoding.class);
+        if (swaggerProperties.getDocs().getBinary().isEnabled()) {
+            Arrays.stream(ApiDocsEncoding.values())
+                    .filter(encoding -> encoding.isBinary() && encoding.isAvailable())
+                    .forEach(encodings::add);
+        }
+        FilterRegistrationBean<ApiDocsFilter> registration =
+                new FilterRegistrationBean<>(new ApiDocsFilter(apiDocsCache, docsPath, encodings, apiDocsExecutor.getIfAvailable()));
+        registration.addUrlPatterns(docsPath);
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+
+    /**
+     * springfox lists swagger resources from its DocumentationCache, which stays empty when API docs come
+     * from the classpath or a snapshot. Swap in a provider listing the cached groups instead.
+     */
+    @Bean
+    @Conditional(OnApiDocsWithoutDocumentationCondition.class)
+    public static BeanPostProcessor classpathSwaggerResourcesProviderPostProcessor(
+            ObjectProvider<ApiDocsCache> apiDocsCache, Environment environment) {
+        String docsPath = environment.getProperty(DOCS_PATH_PROPERTY, DEFAULT_DOCS_PATH);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof SwaggerResourcesProvider && !(bean instanceof ApiDocsSwaggerResourcesProvider)) {
+                    return new ApiDocsSwaggerResourcesProvider(apiDocsCache::getObject, docsPath);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * On-disk snapshot of the API docs, skipping springfox's documentation when the application didn't change.
+     * springfox's bootstrap is intercepted wherever it's started from, eagerly or by the lazy bootstrap.
+     */
+    @Configuration
+    @ConditionalOnProperty(name="swagger.docs.snapshot.enabled")
+    public static class SwaggerDocsSnapshotConfiguration {
+
+        @Bean
+        public ApiDocsSnapshot apiDocsSnapshot(SwaggerProperties swaggerProperties,
+                                               ApplicationContext applicationContext,
+                                               Environment environment) {
+            String directory = swaggerProperties.getDocs().getSnapshot().getDirectory();
+            Path path = StringUtils.hasText(directory)
+                    ? Paths.get(directory)
+                    : Paths.get(System.getProperty("java.io.tmpdir"), "msx-swagger",
+                            environment.getProperty("spring.application.name", "application"));
+            return new ApiDocsSnapshot(path, () -> ApiDocsSnapshot.fingerprint(
+                    applicationContext.getBeansOfType(RequestMappingInfoHandlerMapping.class).values().stream()
+                            .flatMap(mapping -> mapping.getHandlerMethods().entrySet().stream())
+                            .map(entry -> entry.getKey() + " " + entry.getValue())
+                            .collect(Collectors.toList()),
+                    swaggerProperties.toString(),
+                    applicationContext.getBeansOfType(SwaggerConfigurer.class).values().stream()
+                            .map(AopUtils::getTargetClass)
+                            .collect(Collectors.toList())));
+        }
+
+        @Bean
+        public static BeanPostProcessor apiDocsSnapshotBootstrapPostProcessor(
+                ObjectProvider<ApiDocsSnapshot> apiDocsSnapshot, ObjectProvider<ApiDocsCache> apiDocsCache) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DocumentationPluginsBootstrapper)) {
+                        return bean;
+                    }
+                    MethodInterceptor interceptor = invocation -> {
+                        ApiDocsSnapshot snapshot = apiDocsSnapshot.getObject();
+                        if (snapshot.restore()) {
+                            return null;
+                        }
+                        Object result = invocation.proceed();
+                        snapshot.save(apiDocsCache.getObject());
+                        return result;
+                    };
+                    NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(interceptor);
+                    advisor.setMappedName("start");
+                    ProxyFactory proxyFactory = new ProxyFactory(bean);
+                    proxyFactory.setProxyTargetClass(true);
+                    proxyFactory.addAdvisor(advisor);
+                    return proxyFactory.getProxy(bean.getClass().getClassLoader());
+                }
+            };
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name="swagger.docs.warm-up.enabled")
+    public static class SwaggerDocsWarmUpConfiguration {
+
+        @Bean
+        public ApiDocsWarmUp apiDocsWarmUp(ApiDocsCache apiDocsCache,
+                                           ObjectProvider<LazyDocumentationBootstrapper> lazyDocumentationBootstrapper,
+                                           SwaggerProperties swaggerProperties) {
+            return new ApiDocsWarmUp(
+                    apiDocsCache,
+                    lazyDocumentationBootstrapper.getIfAvailable(),
+                    swaggerProperties.getDocs().getWarmUp().getThreads());
+        }
+
+        @Configuration
+        @ConditionalOnClass(HealthIndicator.class)
+        public static class SwaggerDocsHealthConfiguration {
+
+            @Bean
+            public ApiDocsHealthIndicator swaggerDocsHealthIndicator(ApiDocsWarmUp apiDocsWarmUp,
+                                                                      SwaggerProperties swaggerProperties) {
+                return new ApiDocsHealthIndicator(
+                        apiDocsWarmUp,
+                        new Status(swaggerProperties.getDocs().getWarmUp().getWarmingStatus()));
+            }
+        }
+    }
+
+    /**
+     * Publication of the API docs to an {@link ApiDocsSink} after startup, see "swagger.docs.publish.*"
+     */
+    @Configuration
+    @ConditionalOnProperty(name="swagger.docs.publish.enabled")
+    public static class SwaggerDocsPublishConfiguration {
+
+        @Bean
+        public ApiDocsPublisher apiDocsPublisher(ApiDocsCache apiDocsCache,
+                                                 ObjectProvider<LazyDocumentationBootstrapper> lazyDocumentationBootstrapper,
+                                                 ApiDocsSink apiDocsSink,
+                                                 Environment environment) {
+            return new ApiDocsPublisher(
+                    apiDocsCache,
+                    lazyDocumentationBootstrapper.getIfAvailable(),
+                    apiDocsSink,
+                    environment.getProperty("spring.application.name", "application"));
+        }
+
+        @Configuration
+        @ConditionalOnClass(name="com.ecwid.consul.v1.ConsulClient")
+        @ConditionalOnProperty(name="swagger.docs.publish.sink", havingValue="consul", matchIfMissing=true)
+        public static class ConsulSinkConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public ApiDocsSink consulApiDocsSink(ObjectProvider<ConsulClient> consulClient, SwaggerProperties swaggerProperties) {
+                SwaggerDocsPublishProperties publish = swaggerProperties.getDocs().getPublish();
+                return new ConsulApiDocsSink(
+                        consulClient::getObject,
+                        publish.getKeyPrefix(),
+                        StringUtils.hasText(publish.getAclToken()) ? publish.getAclToken() : null);
+            }
+        }
+
+        @Configuration
+        @ConditionalOnProperty(name="swagger.docs.publish.sink", havingValue="directory")
+        public static class DirectorySinkConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public ApiDocsSink directoryApiDocsSink(SwaggerProperties swaggerProperties) {
+                String directory = swaggerProperties.getDocs().getPublish().getDirectory();
+                return new DirectoryApiDocsSink(StringUtils.hasText(directory)
+                        ? Paths.get(directory)
+                        : Paths.get(System.getProperty("java.io.tmpdir"), "msx-swagger-published"));
+            }
+        }
+    }
+
+    /**
+     * Asynchronous generation of API docs, the UI bootstrap and the lazy documentation, see "swagger.docs.async.*"
+     */
+    @Configuration
+    @ConditionalOnProperty(name="swagger.docs.async.enabled")
+    public static class SwaggerDocsAsyncConfiguration {
+
+        @Bean
+        public ApiDocsExecutor apiDocsExecutor(SwaggerProperties swaggerProperties) {
+            SwaggerDocsAsyncProperties async = swaggerProperties.getDocs().getAsync();
+            return new ApiDocsExecutor(async.getThreads(), async.getQueueCapacity(), async.isVirtualThreads(),
+                    async.getTimeout());
+        }
+    }
+
+    static class OnApiDocsServingCondition extends AnyNestedCondition {
+
+        OnApiDocsServingCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(name="swagger.docs.cache.enabled")
+        static class CacheEnabled {
+        }
+
+        @ConditionalOnProperty(name="swagger.source", havingValue="classpath")
+        static class ClasspathSource {
+        }
+
+        @ConditionalOnProperty(name="swagger.docs.warm-up.enabled")
+        static class WarmUpEnabled {
+        }
+
+        @ConditionalOnProperty(name="swagger.docs.snapshot.enabled")
+        static class SnapshotEnabled {
+        }
+
+        @ConditionalOnProperty(name="swagger.docs.publish.enabled")
+        static class PublishEnabled {
+        }
+
+        @ConditionalOnProperty(name="swagger.docs.async.enabled")
+        static class AsyncEnabled {
+        }
+    }
+
+    static class OnApiDocsWithoutDocumentationCondition extends AnyNestedCondition {
+
+        OnApiDocsWithoutDocumentationCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(name="swagger.source", havingValue="classpath")
+        static class ClasspathSource {
+        }
+
+        @ConditionalOnProperty(name="swagger.docs.snapshot.enabled")
+        static class SnapshotEnabled {
+        }
+    }
+}
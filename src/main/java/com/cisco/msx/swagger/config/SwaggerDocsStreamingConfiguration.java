@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.config;
+
+import com.cisco.msx.swagger.docs.ApiDocsStreamingFilter;
+import com.cisco.msx.swagger.docs.DocumentationApiDocsSource;
+import com.cisco.msx.swagger.metrics.SwaggerMetrics;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+import springfox.documentation.swagger2.web.WebMvcSwaggerTransformationFilter;
+
+import java.util.List;
+
+/**
+ * Streaming of API docs. When enabled, documents not answered from the pre-rendered cache are serialized
+ * directly into the response instead of being rendered into a String by springfox's controller.
+ */
+@Configuration
+@ConditionalOnProperty(name="swagger.docs.streaming.enabled")
+public class SwaggerDocsStreamingConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<ApiDocsStreamingFilter> apiDocsStreamingFilter(
+            DocumentationCache documentationCache,
+            ServiceModelToSwagger2Mapper serviceModelToSwagger2Mapper,
+            List<JacksonModuleRegistrar> jacksonModuleRegistrars,
+            List<WebMvcSwaggerTransformationFilter> transformationFilters,
+            ObjectProvider<SwaggerMetrics> swaggerMetrics,
+            SwaggerProperties swaggerProperties,
+            @Value("${" + SwaggerDocsConfiguration.DOCS_PATH_PROPERTY + ":" + SwaggerDocsConfiguration.DEFAULT_DOCS_PATH + "}") String docsPath) {
+        FilterRegistrationBean<ApiDocsStreamingFilter> registration = new FilterRegistrationBean<>(new ApiDocsStreamingFilter(
+                documentationCache,
+                serviceModelToSwagger2Mapper,
+                DocumentationApiDocsSource.swaggerObjectMapper(new JsonFactory(), jacksonModuleRegistrars),
+                transformationFilters,
+                docsPath,
+                swaggerProperties.getDocs().getStreaming().getBufferSize(),
+                () -> swaggerMetrics.getIfAvailable(() -> SwaggerMetrics.NONE)));
+        registration.addUrlPatterns(docsPath);
+        // after the pre-rendered docs filter, which passes groups it doesn't know down the chain
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
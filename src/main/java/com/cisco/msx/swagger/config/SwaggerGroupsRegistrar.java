@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.config;
+
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerGroupProperties;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotationMetadata;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Registers one {@link Docket} bean per group configured under "swagger.groups.&lt;name&gt;",
+ * built by {@link SwaggerDocketConfiguration#swaggerGroupDocket(String, SwaggerGroupProperties)}.
+ */
+public class SwaggerGroupsRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware, BeanFactoryAware {
+
+    public static final String GROUPS_PREFIX = "swagger.groups";
+    public static final String BEAN_NAME_PREFIX = "swaggerDocket.";
+
+    private Environment environment;
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+        Map<String, SwaggerGroupProperties> groups = Binder.get(environment)
+                .bind(GROUPS_PREFIX, Bindable.mapOf(String.class, SwaggerGroupProperties.class))
+                .orElse(Collections.emptyMap());
+
+        groups.forEach((name, group) -> registry.registerBeanDefinition(
+                BEAN_NAME_PREFIX + name,
+                BeanDefinitionBuilder
+                        .genericBeanDefinition(Docket.class, () ->
+                                beanFactory.getBean(SwaggerDocketConfiguration.class).swaggerGroupDocket(name, group))
+                        .getBeanDefinition()));
+    }
+}
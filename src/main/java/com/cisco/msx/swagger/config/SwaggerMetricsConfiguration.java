@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.config;
+
+import com.cisco.msx.swagger.metrics.MicrometerSwaggerMetrics;
+import com.cisco.msx.swagger.metrics.SwaggerMetrics;
+import com.cisco.msx.swagger.metrics.SwaggerMetricsPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Timing of the Docket pipeline and springfox's documentation phases. Recorded only when Micrometer
+ * is on the classpath and the application has a {@link MeterRegistry}.
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(name="swagger.metrics.enabled", matchIfMissing=true)
+public class SwaggerMetricsConfiguration {
+
+    @Bean
+    public SwaggerMetrics swaggerMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfUnique();
+        return registry == null ? SwaggerMetrics.NONE : new MicrometerSwaggerMetrics(registry);
+    }
+
+    @Bean
+    public static SwaggerMetricsPostProcessor swaggerMetricsPostProcessor(ObjectProvider<SwaggerMetrics> swaggerMetrics) {
+        return new SwaggerMetricsPostProcessor(swaggerMetrics);
+    }
+}
@@ -5,7 +5,11 @@
 
 package com.cisco.msx.swagger.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -24,13 +28,26 @@ import org.springframework.validation.annotation.Validated;
 public class SwaggerProperties {
 	
 	private boolean enabled = true;
+	private SwaggerSource source = SwaggerSource.SCAN;
+	private SwaggerBootstrap bootstrap = SwaggerBootstrap.EAGER;
+	/** document Docket groups concurrently instead of one after the other */
+	private boolean bootstrapParallel = false;
+	/** max number of Docket groups documented concurrently with bootstrapParallel */
+	private int bootstrapThreads = 4;
 	private SwaggerSecurityProperties security = new SwaggerSecurityProperties();
 	private SwaggerUiProperties ui = new SwaggerUiProperties();
+	private SwaggerDocsProperties docs = new SwaggerDocsProperties();
+	private SwaggerMetricsProperties metrics = new SwaggerMetricsProperties();
+	private SwaggerIndexProperties index = new SwaggerIndexProperties();
+	private SwaggerAggregateProperties aggregate = new SwaggerAggregateProperties();
+	private Map<String, SwaggerGroupProperties> groups = new LinkedHashMap<>();
 	private Map<String, ?> metadata = new HashMap<>();
 	
 	
 	@Data
 	public static class SwaggerSecurityProperties {
+		/** resolve security references once per mapping pattern, see SecurityReferenceIndex */
+		private boolean indexed = false;
 		private SwaggerOAuthProperties oauth2 = new SwaggerOAuthProperties();
 		private SwaggerSsoProperties sso = new SwaggerSsoProperties();
 	}
@@ -41,6 +58,150 @@ public class SwaggerProperties {
 		private String endpoint = "";
 		private String view = "";
 		private String host = "";
+		private SwaggerUiTrafficProperties traffic = new SwaggerUiTrafficProperties();
+	}
+
+	@Data
+	public static class SwaggerUiTrafficProperties {
+		/** max documentation requests handled concurrently, 0 for no limit */
+		private int maxConcurrentRequests = 0;
+		/** max sustained rate of documentation requests per second, 0 for no limit */
+		private double requestsPerSecond = 0;
+		/** max burst of documentation requests, defaults to requestsPerSecond */
+		private int burst = 0;
+		/** answer API docs requests exceeding the limits from the cache, if already rendered */
+		private boolean serveCached = true;
+	}
+
+	public enum SwaggerSource {
+		/** springfox scans request handlers at runtime */
+		SCAN,
+		/** API docs are generated at build time and served from the classpath */
+		CLASSPATH
+	}
+
+	public enum SwaggerBootstrap {
+		/** springfox documents all Dockets during context refresh */
+		EAGER,
+		/** Dockets are documented in background after application is ready, or on first docs request */
+		LAZY
+	}
+
+	@Data
+	public static class SwaggerGroupProperties {
+		private List<String> paths = new ArrayList<>();
+		private List<String> basePackages = new ArrayList<>();
+		private String title;
+		private String description;
+		private String version;
+	}
+
+	@Data
+	public static class SwaggerDocsProperties {
+		private String location = "META-INF/swagger";
+		private SwaggerDocsCacheProperties cache = new SwaggerDocsCacheProperties();
+		private SwaggerDocsWarmUpProperties warmUp = new SwaggerDocsWarmUpProperties();
+		private SwaggerDocsStreamingProperties streaming = new SwaggerDocsStreamingProperties();
+		private SwaggerDocsBinaryProperties binary = new SwaggerDocsBinaryProperties();
+		private SwaggerDocsSnapshotProperties snapshot = new SwaggerDocsSnapshotProperties();
+		private SwaggerDocsPublishProperties publish = new SwaggerDocsPublishProperties();
+		private SwaggerDocsAsyncProperties async = new SwaggerDocsAsyncProperties();
+	}
+
+	@Data
+	public static class SwaggerDocsCacheProperties {
+		private boolean enabled = false;
+		private int maxHostVariants = 16;
+		private int maxSlices = 64;
+	}
+
+	@Data
+	public static class SwaggerDocsWarmUpProperties {
+		private boolean enabled = false;
+		private int threads = 2;
+		private String warmingStatus = "UNKNOWN";
+	}
+
+	@Data
+	public static class SwaggerDocsStreamingProperties {
+		private boolean enabled = false;
+		/** response and gzip buffer size in bytes */
+		private int bufferSize = 8192;
+	}
+
+	@Data
+	public static class SwaggerDocsBinaryProperties {
+		/** answer Accept: application/x-jackson-smile and application/cbor, if the dataformat module is present */
+		private boolean enabled = true;
+		/** drop descriptions, examples and info text from binary encodings */
+		private boolean machineProfile = true;
+	}
+
+	@Data
+	public static class SwaggerDocsSnapshotProperties {
+		private boolean enabled = false;
+		/** directory of the snapshot, defaults to "${java.io.tmpdir}/msx-swagger/${spring.application.name}" */
+		private String directory = "";
+	}
+
+	public enum SwaggerDocsPublishSink {
+		/** Consul's key/value store */
+		CONSUL,
+		/** a local directory */
+		DIRECTORY
+	}
+
+	@Data
+	public static class SwaggerDocsPublishProperties {
+		private boolean enabled = false;
+		private SwaggerDocsPublishSink sink = SwaggerDocsPublishSink.CONSUL;
+		/** Consul key prefix, documents are published to "<keyPrefix>/<service>/<group>/" */
+		private String keyPrefix = "msx-swagger";
+		/** Consul ACL token with write access to the key prefix, the agent's default token if empty */
+		private String aclToken = "";
+		/** directory of the directory sink, defaults to "${java.io.tmpdir}/msx-swagger-published" */
+		private String directory = "";
+	}
+
+	@Data
+	public static class SwaggerDocsAsyncProperties {
+		private boolean enabled = false;
+		/** max number of documents generated concurrently */
+		private int threads = 4;
+		/** max number of documents waiting for a thread, further requests get 503 */
+		private int queueCapacity = 100;
+		/** run generation on virtual threads when the JVM supports them */
+		private boolean virtualThreads = true;
+		/** requests not answered in time get 503 */
+		private Duration timeout = Duration.ofSeconds(30);
+	}
+
+	@Data
+	public static class SwaggerIndexProperties {
+		/** select request handlers from META-INF/msx-swagger.index when present, see ApiIndexProcessor */
+		private boolean enabled = true;
+	}
+
+	@Data
+	public static class SwaggerAggregateProperties {
+		private boolean enabled = false;
+		/** path of the aggregated swagger-resources listing and documents */
+		private String path = "/swagger-aggregate";
+		/** services to aggregate, all discovered services if empty */
+		private List<String> services = new ArrayList<>();
+		/** instance metadata key holding the service's context path */
+		private String contextPathMetadata = "contextPath";
+		/** max requests to services in flight */
+		private int maxConcurrentRequests = 8;
+		/** connect and request timeout per request */
+		private Duration timeout = Duration.ofSeconds(5);
+		/** min time between refreshes of the aggregated documents */
+		private Duration refreshInterval = Duration.ofSeconds(30);
+	}
+
+	@Data
+	public static class SwaggerMetricsProperties {
+		private boolean enabled = true;
 	}
 
 	@Data
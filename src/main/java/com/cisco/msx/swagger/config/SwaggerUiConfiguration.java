@@ -5,14 +5,27 @@
 
 package com.cisco.msx.swagger.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.web.servlet.config.annotation.*;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerUiTrafficProperties;
 import com.cisco.msx.swagger.controller.AdditionalApiResourcesController;
+import com.cisco.msx.swagger.docs.ApiDocsCache;
+import com.cisco.msx.swagger.docs.ApiDocsTrafficFilter;
+import com.cisco.msx.swagger.metrics.SwaggerMetrics;
+import com.cisco.msx.swagger.ui.ImmutableCacheControl;
+import com.cisco.msx.swagger.ui.ImmutableCacheControlInterceptor;
+import com.cisco.msx.swagger.ui.WebJarManifest;
+import com.cisco.msx.swagger.ui.WebJarManifestResourceResolver;
 
 /**
  * Everything for Swagger UI, such as manages the Spring MVC configuration
@@ -27,6 +40,33 @@ public class SwaggerUiConfiguration {
 	public AdditionalApiResourcesController additionalApiResourcesController() {
 		return new AdditionalApiResourcesController();
 	}
+
+	/**
+	 * Metrics and access-rate protection of the documentation endpoints, see "swagger.ui.traffic.*"
+	 */
+	@Bean
+	public FilterRegistrationBean<ApiDocsTrafficFilter> apiDocsTrafficFilter(
+			SwaggerProperties swaggerProperties,
+			ObjectProvider<ApiDocsCache> apiDocsCache,
+			ObjectProvider<SwaggerMetrics> swaggerMetrics,
+			Environment environment) {
+		String docsPath = environment.getProperty(SwaggerDocsConfiguration.DOCS_PATH_PROPERTY, SwaggerDocsConfiguration.DEFAULT_DOCS_PATH);
+		String resourcesPath = environment.getProperty(SwaggerBootstrapConfiguration.SWAGGER_UI_BASE_URL_PROPERTY, "")
+				+ SwaggerBootstrapConfiguration.SWAGGER_RESOURCES_PATH;
+		SwaggerUiTrafficProperties traffic = swaggerProperties.getUi().getTraffic();
+
+		FilterRegistrationBean<ApiDocsTrafficFilter> registration = new FilterRegistrationBean<>(new ApiDocsTrafficFilter(
+				docsPath,
+				traffic.getMaxConcurrentRequests(),
+				traffic.getRequestsPerSecond(),
+				traffic.getBurst(),
+				traffic.isServeCached() ? apiDocsCache.getIfAvailable() : null,
+				() -> swaggerMetrics.getIfAvailable(() -> SwaggerMetrics.NONE)));
+		registration.addUrlPatterns(docsPath, resourcesPath, resourcesPath + "/*");
+		// limit documentation requests before they wait for lazy documentation or get rendered
+		registration.setOrder(Ordered.LOWEST_PRECEDENCE - 200);
+		return registration;
+	}
 	
 	
 	/* Configuration Classes */
@@ -38,8 +78,14 @@ public class SwaggerUiConfiguration {
 	 * Created on Dec 1, 2016
 	 */
 	@Configuration
+	@Order(Ordered.HIGHEST_PRECEDENCE)
 	public static class SwaggerUiMvcConfiguration implements WebMvcConfigurer {
 
+		static final String WEBJARS_PATTERN = "/webjars/**";
+		static final String WEBJARS_LOCATION = "classpath:/META-INF/resources/webjars/";
+		static final String ASSETS_PATTERN = "/swagger-assets/**";
+		static final String ASSETS_LOCATION = "classpath:/public/swagger-assets/";
+
 		@Autowired
 		protected SwaggerProperties swaggerProperties;
 		
@@ -55,5 +101,40 @@ public class SwaggerUiConfiguration {
 				.setViewName(swaggerProperties.getUi().getView());
 			registry.setOrder(Ordered.HIGHEST_PRECEDENCE);
 		}
+
+		/**
+		 * serve versionless webjar paths of the UI from the build-time webjar manifest,
+		 * webjars-locator is only consulted, if present, for webjars the manifest doesn't know.
+		 * Registered ahead of Spring Boot's own "/webjars/**" handler, which would scan with webjars-locator
+		 *
+		 * @param registry the resource handler registry
+		 */
+		@Override
+		public void addResourceHandlers(ResourceHandlerRegistry registry) {
+			// fingerprinted UI assets, with the ".br" and ".gz" variants written by the frontend build
+			registry.addResourceHandler(ASSETS_PATTERN)
+				.addResourceLocations(ASSETS_LOCATION)
+				.setCacheControl(new ImmutableCacheControl())
+				.resourceChain(true)
+				.addResolver(new EncodedResourceResolver());
+			if (registry.hasMappingForPattern(WEBJARS_PATTERN)) {
+				return;
+			}
+			registry.addResourceHandler(WEBJARS_PATTERN)
+				.addResourceLocations(WEBJARS_LOCATION)
+				.resourceChain(true)
+				.addResolver(new WebJarManifestResourceResolver(WebJarManifest.load(getClass().getClassLoader())));
+		}
+
+		/**
+		 * fingerprinted UI assets never change under the same path, let browsers and proxies keep them
+		 *
+		 * @param registry the interceptor registry
+		 */
+		@Override
+		public void addInterceptors(InterceptorRegistry registry) {
+			registry.addInterceptor(new ImmutableCacheControlInterceptor())
+				.addPathPatterns(ASSETS_PATTERN);
+		}
 	}
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.config;
+
+import com.cisco.msx.swagger.config.SwaggerProperties.SwaggerSource;
+import com.cisco.msx.swagger.controller.ReactiveApiResourcesController;
+import com.cisco.msx.swagger.docs.ApiDocsCache;
+import com.cisco.msx.swagger.docs.ApiDocsSource;
+import com.cisco.msx.swagger.docs.ApiDocsSwaggerResourcesProvider;
+import com.cisco.msx.swagger.docs.ApiDocsWebFilter;
+import com.cisco.msx.swagger.docs.ClasspathApiDocsSource;
+import com.cisco.msx.swagger.docs.DocumentationApiDocsSource;
+import com.cisco.msx.swagger.docs.LazyDocumentationBootstrapper;
+import com.cisco.msx.swagger.docs.LazyDocumentationWebFilter;
+import com.cisco.msx.swagger.ui.ImmutableCacheControl;
+import com.cisco.msx.swagger.ui.ReactiveWebJarManifestResourceResolver;
+import com.cisco.msx.swagger.ui.WebJarManifest;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.config.ResourceHandlerRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.resource.EncodedResourceResolver;
+import org.springframework.web.server.WebFilter;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+import springfox.documentation.swagger.web.SwaggerResourcesProvider;
+import reactor.core.publisher.Mono;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * WebFlux counterpart of the servlet configurations: pre-rendered API docs served by {@link ApiDocsWebFilter},
+ * the SSO configuration and UI bootstrap endpoints, the UI page and its resources, and lazy documentation.
+ *
+ * Streaming, slices, binary encodings, traffic limits, snapshots, publication and aggregation are servlet only.
+ */
+@Configuration
+public class SwaggerWebFluxConfiguration {
+
+    /**
+     * Pre-rendered API docs, enabled by the same properties as {@link SwaggerDocsConfiguration}
+     */
+    @Configuration
+    @Conditional(SwaggerDocsConfiguration.OnApiDocsServingCondition.class)
+    public static class SwaggerWebFluxDocsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ApiDocsSource apiDocsSource(SwaggerProperties swaggerProperties,
+                                           ApplicationContext applicationContext,
+                                           ObjectProvider<DocumentationCache> documentationCache,
+                                           ObjectProvider<ServiceModelToSwagger2Mapper> serviceModelToSwagger2Mapper,
+                                           List<JacksonModuleRegistrar> jacksonModuleRegistrars) {
+            if (swaggerProperties.getSource() == SwaggerSource.CLASSPATH) {
+                return new ClasspathApiDocsSource(applicationContext.getClassLoader(), swaggerProperties.getDocs().getLocation());
+            }
+            return new DocumentationApiDocsSource(
+                    documentationCache.getObject(),
+                    serviceModelToSwagger2Mapper.getObject(),
+                    DocumentationApiDocsSource.swaggerObjectMapper(new JsonFactory(), jacksonModuleRegistrars));
+        }
+
+        @Bean
+        public ApiDocsCache apiDocsCache(ApiDocsSource apiDocsSource, SwaggerProperties swaggerProperties) {
+            return new ApiDocsCache(
+                    apiDocsSource,
+                    new ObjectMapper(),
+                    swaggerProperties.getDocs().getCache().getMaxHostVariants(),
+                    swaggerProperties.getDocs().getCache().getMaxSlices(),
+                    swaggerProperties.getDocs().getBinary().isMachineProfile());
+        }
+
+        @Bean
+        @Order(Ordered.LOWEST_PRECEDENCE - 10)
+        public ApiDocsWebFilter apiDocsWebFilter(
+                ApiDocsCache apiDocsCache,
+                @Value("${" + SwaggerDocsConfiguration.DOCS_PATH_PROPERTY + ":" + SwaggerDocsConfiguration.DEFAULT_DOCS_PATH + "}") String docsPath) {
+            return new ApiDocsWebFilter(apiDocsCache, docsPath);
+        }
+
+        /**
+         * springfox's DocumentationCache stays empty when API docs come from the classpath, list the cached groups instead
+         */
+        @Bean
+        @ConditionalOnProperty(name="swagger.source", havingValue="classpath")
+        public static BeanPostProcessor reactiveClasspathSwaggerResourcesProviderPostProcessor(
+                ObjectProvider<ApiDocsCache> apiDocsCache, Environment environment) {
+            String docsPath = environment.getProperty(SwaggerDocsConfiguration.DOCS_PATH_PROPERTY, SwaggerDocsConfiguration.DEFAULT_DOCS_PATH);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof SwaggerResourcesProvider && !(bean instanceof ApiDocsSwaggerResourcesProvider)) {
+                        return new ApiDocsSwaggerResourcesProvider(apiDocsCache::getObject, docsPath);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Lazy documentation bootstrap ("swagger.bootstrap=lazy"), see {@link SwaggerBootstrapConfiguration}
+     */
+    @Configuration
+    @ConditionalOnProperty(name="swagger.bootstrap", havingValue="lazy")
+    public static class SwaggerWebFluxBootstrapConfiguration {
+
+        @Bean
+        public LazyDocumentationBootstrapper lazyDocumentationBootstrapper(
+                DocumentationPluginsBootstrapper documentationPluginsBootstrapper) {
+            return new LazyDocumentationBootstrapper(documentationPluginsBootstrapper);
+        }
+
+        @Bean
+        @Order(Ordered.LOWEST_PRECEDENCE - 100)
+        public LazyDocumentationWebFilter lazyDocumentationWebFilter(
+                LazyDocumentationBootstrapper lazyDocumentationBootstrapper,
+                SwaggerProperties swaggerProperties,
+                Environment environment) {
+            String docsPath = environment.getProperty(SwaggerDocsConfiguration.DOCS_PATH_PROPERTY, SwaggerDocsConfiguration.DEFAULT_DOCS_PATH);
+            String resourcesPath = environment.getProperty(SwaggerBootstrapConfiguration.SWAGGER_UI_BASE_URL_PROPERTY, "")
+                    + SwaggerBootstrapConfiguration.SWAGGER_RESOURCES_PATH;
+            return new LazyDocumentationWebFilter(
+                    lazyDocumentationBootstrapper,
+                    Set.of(docsPath, resourcesPath),
+                    Set.of(resourcesPath + "/"),
+                    Set.of(swaggerProperties.getUi().getEndpoint()));
+        }
+    }
+
+    /**
+     * The UI page, its fingerprinted assets and versionless webjar paths, and the resources endpoints
+     */
+    @Configuration
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnProperty(name="swagger.ui.enabled", matchIfMissing=true)
+    public static class SwaggerUiWebFluxConfiguration implements WebFluxConfigurer {
+
+        static final String WEBJARS_PATTERN = "/webjars/**";
+        static final String WEBJARS_LOCATION = "classpath:/META-INF/resources/webjars/";
+        static final String ASSETS_PATTERN = "/swagger-assets/**";
+        static final String ASSETS_PATH = "/swagger-assets/";
+        static final String ASSETS_LOCATION = "classpath:/public/swagger-assets/";
+
+        @Autowired
+        protected SwaggerProperties swaggerProperties;
+
+        @Bean
+        public ReactiveApiResourcesController reactiveApiResourcesController() {
+            return new ReactiveApiResourcesController();
+        }
+
+        /**
+         * The UI page is served from "classpath:/public" + swagger.ui.view, there are no view forwards in WebFlux
+         */
+        @Bean
+        public RouterFunction<ServerResponse> swaggerUiRouterFunction() {
+            ClassPathResource page = new ClassPathResource("public" + swaggerProperties.getUi().getView());
+            return RouterFunctions.route()
+                    .GET(swaggerProperties.getUi().getEndpoint(), request -> ServerResponse.ok()
+                            .contentType(MediaType.TEXT_HTML)
+                            .bodyValue(page))
+                    .build();
+        }
+
+        /**
+         * fingerprinted UI assets never change under the same path, let browsers and proxies keep them
+         */
+        @Bean
+        public WebFilter swaggerAssetsCacheControlWebFilter() {
+            return (exchange, chain) -> {
+                if (exchange.getRequest().getPath().pathWithinApplication().value().startsWith(ASSETS_PATH)) {
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.beforeCommit(() -> {
+                        // found or not modified only, a missing asset must not become cacheable
+                        HttpStatus status = response.getStatusCode();
+                        if (status == null || status.is2xxSuccessful() || status == HttpStatus.NOT_MODIFIED) {
+                            response.getHeaders().set(HttpHeaders.CACHE_CONTROL, ImmutableCacheControl.HEADER_VALUE);
+                        }
+                        return Mono.empty();
+                    });
+                }
+                return chain.filter(exchange);
+            };
+        }
+
+        @Override
+        public void addResourceHandlers(ResourceHandlerRegistry registry) {
+            registry.addResourceHandler(ASSETS_PATTERN)
+                    .addResourceLocations(ASSETS_LOCATION)
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver());
+            if (registry.hasMappingForPattern(WEBJARS_PATTERN)) {
+                return;
+            }
+            registry.addResourceHandler(WEBJARS_PATTERN)
+                    .addResourceLocations(WEBJARS_LOCATION)
+                    .resourceChain(true)
+                    .addResolver(new ReactiveWebJarManifestResourceResolver(WebJarManifest.load(getClass().getClassLoader())));
+        }
+    }
+}
@@ -5,16 +5,36 @@
 
 package com.cisco.msx.swagger.controller;
 
+import com.cisco.msx.swagger.docs.ApiDocs;
+import com.cisco.msx.swagger.docs.ApiDocsCache;
+import com.cisco.msx.swagger.docs.ApiDocsExecutor;
+import com.cisco.msx.swagger.docs.ApiDocsHost;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import springfox.documentation.annotations.ApiIgnore;
+import springfox.documentation.swagger.web.SecurityConfiguration;
+import springfox.documentation.swagger.web.SwaggerResource;
+import springfox.documentation.swagger.web.SwaggerResourcesProvider;
+import springfox.documentation.swagger.web.UiConfiguration;
 
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,12 +50,122 @@ public class AdditionalApiResourcesController {
 	@Autowired(required = false)
 	protected SsoSecurityConfiguration ssoSecurityConfiguration;
 
+	@Autowired(required = false)
+	protected SwaggerResourcesProvider swaggerResourcesProvider;
+
+	@Autowired(required = false)
+	protected UiConfiguration uiConfiguration;
+
+	@Autowired(required = false)
+	protected SecurityConfiguration securityConfiguration;
+
+	@Autowired(required = false)
+	protected ApiDocsCache apiDocsCache;
+
+	@Autowired(required = false)
+	protected ObjectMapper objectMapper;
+
+	@Autowired(required = false)
+	protected ApiDocsExecutor apiDocsExecutor;
+
+	private volatile UiBootstrap uiBootstrap;
+
 	@RequestMapping(value = "/configuration/security/sso")
 	@ResponseBody
 	public ResponseEntity<SsoSecurityConfiguration> userSecurityConfiguration() {
 		return ResponseEntity.of(Optional.ofNullable(ssoSecurityConfiguration));
 	}
 
+	/**
+	 * Everything the UI loads before rendering, in one response: the swagger resources, the UI and
+	 * security configurations, and the default group's document URL with its ETag if pre-rendered.
+	 * The configuration is computed once, responses carry an ETag and are answered with 304 when unchanged.
+	 *
+	 * With an {@link ApiDocsExecutor} the bootstrap is computed off the request thread, as a {@link DeferredResult}
+	 *
+	 * @param request the request, for the ETag and the document's host variant
+	 * @return the UI bootstrap as JSON, or its deferred result
+	 * @throws JsonProcessingException when the configuration can't be serialized
+	 */
+	@RequestMapping(value = "/bootstrap", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public Object uiBootstrap(ServletWebRequest request) throws JsonProcessingException {
+		ApiDocsHost host = ApiDocsHost.from(request.getRequest());
+		if (apiDocsExecutor != null) {
+			return uiBootstrapAsync(host);
+		}
+		byte[] json = uiBootstrapJson(host);
+		String etag = etag(json);
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+		return uiBootstrapResponse(json, etag);
+	}
+
+	/**
+	 * Requests of the same host share one computation, the ETag is checked when the response entity is handled
+	 */
+	protected DeferredResult<ResponseEntity<byte[]>> uiBootstrapAsync(ApiDocsHost host) {
+		ResponseEntity<byte[]> unavailable = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.build();
+		DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>(apiDocsExecutor.getTimeout().toMillis(), unavailable);
+		apiDocsExecutor.submit(List.of(UiBootstrap.class, host), () -> {
+			try {
+				return uiBootstrapJson(host);
+			} catch (JsonProcessingException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).whenComplete((json, error) -> {
+			if (ApiDocsExecutor.isRejected(error)) {
+				result.setResult(unavailable);
+			} else if (error != null) {
+				result.setErrorResult(error);
+			} else {
+				result.setResult(uiBootstrapResponse(json, etag(json)));
+			}
+		});
+		return result;
+	}
+
+	protected byte[] uiBootstrapJson(ApiDocsHost host) throws JsonProcessingException {
+		UiBootstrap bootstrap = uiBootstrap();
+		if (bootstrap.getDefaultSpec() != null && apiDocsCache != null) {
+			bootstrap = bootstrap.withDefaultSpecEtag(apiDocsCache
+					.get(bootstrap.getDefaultSpec().getName(), host)
+					.map(ApiDocs::getEtag)
+					.orElse(null));
+		}
+		return (objectMapper != null ? objectMapper : new ObjectMapper()).writeValueAsBytes(bootstrap);
+	}
+
+	protected ResponseEntity<byte[]> uiBootstrapResponse(byte[] json, String etag) {
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.noCache())
+				.eTag(etag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(json);
+	}
+
+	private static String etag(byte[] json) {
+		return "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+	}
+
+	protected UiBootstrap uiBootstrap() {
+		UiBootstrap bootstrap = uiBootstrap;
+		if (bootstrap == null) {
+			List<SwaggerResource> resources = swaggerResourcesProvider == null
+					? Collections.emptyList()
+					: swaggerResourcesProvider.get();
+			bootstrap = UiBootstrap.of(resources, uiConfiguration, securityConfiguration, ssoSecurityConfiguration);
+			if (!resources.isEmpty()) {
+				// groups are only listed once documented
+				uiBootstrap = bootstrap;
+			}
+		}
+		return bootstrap;
+	}
+
 	@Data
 	@Builder
 	public static class SsoSecurityConfiguration {
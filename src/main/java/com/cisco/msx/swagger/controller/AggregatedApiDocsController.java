@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.controller;
+
+import com.cisco.msx.swagger.aggregate.ApiDocsAggregator;
+import com.cisco.msx.swagger.aggregate.ServiceApiDocs;
+import com.cisco.msx.swagger.docs.ApiDocs;
+import com.cisco.msx.swagger.docs.ApiDocsFilter;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.util.UriUtils;
+import springfox.documentation.annotations.ApiIgnore;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger.web.SwaggerResource;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AggregatedApiDocsController. Serves the API docs collected by {@link ApiDocsAggregator}: one swagger-resources
+ * listing of the groups of all discovered services, and each group's document, see "swagger.aggregate.*".
+ */
+@Controller
+@ApiIgnore
+@RequestMapping("${swagger.aggregate.path}")
+public class AggregatedApiDocsController {
+
+	private final ApiDocsAggregator apiDocsAggregator;
+	private final String path;
+
+	public AggregatedApiDocsController(ApiDocsAggregator apiDocsAggregator, String path) {
+		this.apiDocsAggregator = apiDocsAggregator;
+		this.path = path;
+	}
+
+	@GetMapping("/swagger-resources")
+	@ResponseBody
+	public List<SwaggerResource> swaggerResources() {
+		List<SwaggerResource> resources = new ArrayList<>();
+		for (ServiceApiDocs service : apiDocsAggregator.getServices()) {
+			for (String group : service.getGroups().keySet()) {
+				SwaggerResource resource = new SwaggerResource();
+				resource.setName(service.getService() + "/" + group);
+				resource.setUrl(path + "/services/" + UriUtils.encodePathSegment(service.getService(), StandardCharsets.UTF_8)
+						+ "/api-docs?group=" + UriUtils.encodeQueryParam(group, StandardCharsets.UTF_8));
+				resource.setSwaggerVersion("2.0");
+				resources.add(resource);
+			}
+		}
+		return resources;
+	}
+
+	@GetMapping("/services/{service}/api-docs")
+	public void apiDocs(@PathVariable("service") String service,
+						@RequestParam(name = ApiDocsFilter.GROUP_PARAMETER, defaultValue = Docket.DEFAULT_GROUP_NAME) String group,
+						HttpServletRequest request,
+						HttpServletResponse response) throws IOException {
+		Optional<ApiDocs> docs = apiDocsAggregator.get(service, group);
+		if (docs.isPresent()) {
+			ApiDocsFilter.writeDocs(request, response, docs.get());
+		} else {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+		}
+	}
+}
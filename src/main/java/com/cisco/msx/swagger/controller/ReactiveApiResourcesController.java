@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.controller;
+
+import com.cisco.msx.swagger.controller.AdditionalApiResourcesController.SsoSecurityConfiguration;
+import com.cisco.msx.swagger.docs.ApiDocs;
+import com.cisco.msx.swagger.docs.ApiDocsCache;
+import com.cisco.msx.swagger.docs.ApiDocsHost;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ServerWebExchange;
+import springfox.documentation.annotations.ApiIgnore;
+import springfox.documentation.swagger.web.SecurityConfiguration;
+import springfox.documentation.swagger.web.SwaggerResource;
+import springfox.documentation.swagger.web.SwaggerResourcesProvider;
+import springfox.documentation.swagger.web.UiConfiguration;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ReactiveApiResourcesController. WebFlux counterpart of {@link AdditionalApiResourcesController}, serving the
+ * SSO configuration and the UI bootstrap. The bootstrap only includes the default group's ETag when its document
+ * is already rendered, nothing is rendered on the event loop.
+ */
+@Controller
+@ApiIgnore
+@RequestMapping("/swagger-resources")
+public class ReactiveApiResourcesController {
+
+	@Autowired(required = false)
+	protected SsoSecurityConfiguration ssoSecurityConfiguration;
+
+	@Autowired(required = false)
+	protected SwaggerResourcesProvider swaggerResourcesProvider;
+
+	@Autowired(required = false)
+	protected UiConfiguration uiConfiguration;
+
+	@Autowired(required = false)
+	protected SecurityConfiguration securityConfiguration;
+
+	@Autowired(required = false)
+	protected ApiDocsCache apiDocsCache;
+
+	@Autowired(required = false)
+	protected ObjectMapper objectMapper;
+
+	private volatile UiBootstrap uiBootstrap;
+
+	@RequestMapping(value = "/configuration/security/sso")
+	@ResponseBody
+	public ResponseEntity<SsoSecurityConfiguration> userSecurityConfiguration() {
+		return ResponseEntity.of(Optional.ofNullable(ssoSecurityConfiguration));
+	}
+
+	@RequestMapping(value = "/bootstrap", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public ResponseEntity<byte[]> uiBootstrap(ServerWebExchange exchange) throws JsonProcessingException {
+		UiBootstrap bootstrap = uiBootstrap();
+		if (bootstrap.getDefaultSpec() != null && apiDocsCache != null) {
+			bootstrap = bootstrap.withDefaultSpecEtag(apiDocsCache
+					.peek(bootstrap.getDefaultSpec().getName(), ApiDocsHost.from(exchange.getRequest()))
+					.map(ApiDocs::getEtag)
+					.orElse(null));
+		}
+		byte[] json = (objectMapper != null ? objectMapper : new ObjectMapper()).writeValueAsBytes(bootstrap);
+		String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+		if (exchange.checkNotModified(etag)) {
+			return null;
+		}
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.noCache())
+				.eTag(etag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(json);
+	}
+
+	protected UiBootstrap uiBootstrap() {
+		UiBootstrap bootstrap = uiBootstrap;
+		if (bootstrap == null) {
+			List<SwaggerResource> resources = swaggerResourcesProvider == null
+					? Collections.emptyList()
+					: swaggerResourcesProvider.get();
+			bootstrap = UiBootstrap.of(resources, uiConfiguration, securityConfiguration, ssoSecurityConfiguration);
+			if (!resources.isEmpty()) {
+				// groups are only listed once documented
+				uiBootstrap = bootstrap;
+			}
+		}
+		return bootstrap;
+	}
+}
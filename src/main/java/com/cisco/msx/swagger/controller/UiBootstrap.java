@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.controller;
+
+import com.cisco.msx.swagger.controller.AdditionalApiResourcesController.SsoSecurityConfiguration;
+import lombok.Builder;
+import lombok.Data;
+import springfox.documentation.swagger.web.SecurityConfiguration;
+import springfox.documentation.swagger.web.SecurityConfigurationBuilder;
+import springfox.documentation.swagger.web.SwaggerResource;
+import springfox.documentation.swagger.web.UiConfiguration;
+import springfox.documentation.swagger.web.UiConfigurationBuilder;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * UiBootstrap. Everything the UI loads before rendering, served in one response by the "/swagger-resources/bootstrap"
+ * endpoint of the servlet and reactive resources controllers.
+ */
+@Data
+@Builder(toBuilder = true)
+public class UiBootstrap {
+
+    private List<SwaggerResource> resources;
+    private UiConfiguration ui;
+    private SecurityConfiguration security;
+    private SsoSecurityConfiguration sso;
+    private DefaultSpec defaultSpec;
+
+    /**
+     * @param resources the swagger resources, the first being the default group
+     * @param ui the UI configuration, springfox's default if null
+     * @param security the OAuth2 security configuration, springfox's default if null
+     * @param sso the SSO security configuration, may be null
+     * @return the bootstrap, without the default group's ETag
+     */
+    public static UiBootstrap of(List<SwaggerResource> resources, UiConfiguration ui, SecurityConfiguration security,
+                                 SsoSecurityConfiguration sso) {
+        return UiBootstrap.builder()
+                .resources(resources)
+                .ui(Optional.ofNullable(ui).orElseGet(() -> UiConfigurationBuilder.builder().build()))
+                .security(Optional.ofNullable(security).orElseGet(() -> SecurityConfigurationBuilder.builder().build()))
+                .sso(sso)
+                .defaultSpec(resources.isEmpty() ? null : DefaultSpec.builder()
+                        .name(resources.get(0).getName())
+                        .url(resources.get(0).getUrl())
+                        .build())
+                .build();
+    }
+
+    /**
+     * @param etag ETag of the default group's document, may be null
+     * @return copy of the bootstrap with the given ETag
+     */
+    public UiBootstrap withDefaultSpecEtag(String etag) {
+        if (defaultSpec == null) {
+            return this;
+        }
+        return toBuilder().defaultSpec(defaultSpec.toBuilder().etag(etag).build()).build();
+    }
+
+    @Data
+    @Builder(toBuilder = true)
+    public static class DefaultSpec {
+        private String name;
+        private String url;
+        private String etag;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ApiDocs. An immutable, pre-rendered API document of one group: the JSON bytes, their gzip
+ * encoding and a strong ETag for each representation.
+ *
+ * Instances are shared between requests, the byte arrays are never handed out.
+ */
+public final class ApiDocs {
+
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String hash;
+    private final String contentType;
+
+    private ApiDocs(byte[] json, byte[] gzip, String hash, String contentType) {
+        this.json = json;
+        this.gzip = gzip;
+        this.hash = hash;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Create ApiDocs from rendered JSON. The given array is owned by the created instance afterwards
+     *
+     * @param json the rendered document
+     * @return immutable ApiDocs
+     */
+    public static ApiDocs of(byte[] json) {
+        return of(json, JSON_CONTENT_TYPE);
+    }
+
+    /**
+     * Create ApiDocs from a document rendered in any data format, e.g. Smile or CBOR. The given array
+     * is owned by the created instance afterwards
+     *
+     * @param content the rendered document
+     * @param contentType media type of the content
+     * @return immutable ApiDocs
+     */
+    public static ApiDocs of(byte[] content, String contentType) {
+        return new ApiDocs(content, gzip(content), sha256(content), contentType);
+    }
+
+    /**
+     * @return media type of the document, "application/json" unless created for another data format
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return hex encoded SHA-256 of the JSON bytes
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * @return strong ETag of the JSON representation
+     */
+    public String getEtag() {
+        return "\"" + hash + "\"";
+    }
+
+    /**
+     * @return strong ETag of the gzip representation
+     */
+    public String getGzipEtag() {
+        return "\"" + hash + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    public int getSize() {
+        return json.length;
+    }
+
+    public int getGzipSize() {
+        return gzip.length;
+    }
+
+    /**
+     * @return read-only view of the JSON bytes
+     */
+    public ByteBuffer asByteBuffer() {
+        return asByteBuffer(false);
+    }
+
+    /**
+     * @param gzipped true for the gzip representation
+     * @return read-only view of the representation's bytes
+     */
+    public ByteBuffer asByteBuffer(boolean gzipped) {
+        return ByteBuffer.wrap(gzipped ? gzip : json).asReadOnlyBuffer();
+    }
+
+    public InputStream newInputStream() {
+        return new ByteArrayInputStream(json);
+    }
+
+    public void writeTo(OutputStream out, boolean gzipped) throws IOException {
+        out.write(gzipped ? gzip : json);
+    }
+
+    /**
+     * Check an If-None-Match header value against both representations
+     *
+     * @param ifNoneMatch header value, may be null
+     * @return true if any of the listed entity tags (or "*") matches
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || getEtag().equals(candidate) || getGzipEtag().equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(bytes.length / 4, 512));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
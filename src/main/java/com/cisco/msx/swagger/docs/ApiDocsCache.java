@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ApiDocsCache. Renders the API document of each group from an {@link ApiDocsSource} into immutable
+ * {@link ApiDocs} once, instead of mapping and serializing the whole model on every request.
+ *
+ * Each group has a canonical rendering (no request specific host / basePath) and a bounded number of
+ * host variants derived from it. Entries are rebuilt only when the source reports a new version of the
+ * group, e.g. when springfox documents the Docket again.
+ *
+ * Slices of a group (see {@link ApiDocsSlice}) are cut from an {@link ApiDocsIndex} built on first use
+ * and cached up to a bounded number as well.
+ *
+ * Binary encodings (see {@link ApiDocsEncoding}) are transcoded from the JSON rendering, reduced to
+ * {@link ApiDocsMachineProfile} unless disabled, and cached per host and slice like their JSON counterparts.
+ */
+@Slf4j
+public class ApiDocsCache {
+
+    public static final int DEFAULT_MAX_SLICES = 64;
+
+    private final ApiDocsSource source;
+    private final ObjectMapper objectMapper;
+    private final int maxHostVariants;
+    private final int maxSlices;
+    private final boolean machineProfile;
+
+    private final ConcurrentMap<String, GroupEntry> entries = new ConcurrentHashMap<>();
+    private final Map<ApiDocsEncoding, ObjectMapper> encodingMappers = new EnumMap<>(ApiDocsEncoding.class);
+
+    public ApiDocsCache(ApiDocsSource source, ObjectMapper objectMapper, int maxHostVariants) {
+        this(source, objectMapper, maxHostVariants, DEFAULT_MAX_SLICES);
+    }
+
+    public ApiDocsCache(ApiDocsSource source, ObjectMapper objectMapper, int maxHostVariants, int maxSlices) {
+        this(source, objectMapper, maxHostVariants, maxSlices, true);
+    }
+
+    /**
+     * @param source where documents come from
+     * @param objectMapper mapper used to derive host variants and slices
+     * @param maxHostVariants max number of cached host variants per group
+     * @param maxSlices max number of cached slices, and binary encodings, per group
+     * @param machineProfile whether binary encodings are reduced to {@link ApiDocsMachineProfile}
+     */
+    public ApiDocsCache(ApiDocsSource source, ObjectMapper objectMapper, int maxHostVariants, int maxSlices,
+                        boolean machineProfile) {
+        this.source = source;
+        this.objectMapper = objectMapper;
+        this.maxHostVariants = maxHostVariants;
+        this.maxSlices = maxSlices;
+        this.machineProfile = machineProfile;
+        for (ApiDocsEncoding encoding : ApiDocsEncoding.values()) {
+            if (encoding.isBinary() && encoding.isAvailable()) {
+                encodingMappers.put(encoding, new ObjectMapper(encoding.newFactory()));
+            }
+        }
+    }
+
+    /**
+     * @return names of all groups available from the source
+     */
+    public Set<String> groupNames() {
+        return source.groupNames();
+    }
+
+    /**
+     * @param group docket group name
+     * @return canonical rendering of the group, or empty if the group is not documented
+     */
+    public Optional<ApiDocs> get(String group) {
+        return Optional.ofNullable(entry(group)).map(entry -> entry.canonical);
+    }
+
+    /**
+     * @param group docket group name
+     * @param host request specific host and basePath
+     * @return rendering of the group for given host, or empty if the group is not documented
+     */
+    public Optional<ApiDocs> get(String group, ApiDocsHost host) {
+        GroupEntry entry = entry(group);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        ApiDocs docs = entry.variants.get(host);
+        if (docs != null) {
+            return Optional.of(docs);
+        }
+        if (entry.variants.size() >= maxHostVariants) {
+            log.debug("Host variants of API docs group [{}] exceeded {}, rendering uncached", group, maxHostVariants);
+            return Optional.of(renderVariant(entry.canonical, host));
+        }
+        return Optional.of(entry.variants.computeIfAbsent(host, key -> renderVariant(entry.canonical, key)));
+    }
+
+    /**
+     * @param group docket group name
+     * @param host request specific host and basePath
+     * @param slice selection of operations, null for the whole document
+     * @return rendering of the group's slice for given host, or empty if the group is not documented
+     */
+    public Optional<ApiDocs> get(String group, ApiDocsHost host, ApiDocsSlice slice) {
+        if (slice == null) {
+            return get(group, host);
+        }
+        GroupEntry entry = entry(group);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        SliceKey key = new SliceKey(slice, host);
+        ApiDocs docs = entry.slices.get(key);
+        if (docs != null) {
+            return Optional.of(docs);
+        }
+        if (entry.slices.size() >= maxSlices) {
+            log.debug("Slices of API docs group [{}] exceeded {}, rendering uncached", group, maxSlices);
+            return Optional.of(renderSlice(entry, key));
+        }
+        return Optional.of(entry.slices.computeIfAbsent(key, sliceKey -> renderSlice(entry, sliceKey)));
+    }
+
+    /**
+     * @param group docket group name
+     * @param host request specific host and basePath
+     * @param slice selection of operations, null for the whole document
+     * @param encoding data format of the rendering
+     * @return rendering of the group's slice for given host in given encoding, or empty if the group is not
+     * documented. JSON if the encoding isn't available
+     */
+    public Optional<ApiDocs> get(String group, ApiDocsHost host, ApiDocsSlice slice, ApiDocsEncoding encoding) {
+        ObjectMapper encodingMapper = encodingMappers.get(encoding);
+        if (encodingMapper == null) {
+            return get(group, host, slice);
+        }
+        GroupEntry entry = entry(group);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        EncodingKey key = new EncodingKey(encoding, slice, host);
+        ApiDocs docs = entry.encodings.get(key);
+        if (docs != null) {
+            return Optional.of(docs);
+        }
+        if (entry.encodings.size() >= maxSlices) {
+            log.debug("Encodings of API docs group [{}] exceeded {}, rendering uncached", group, maxSlices);
+            return Optional.of(renderEncoding(entry, key, encodingMapper));
+        }
+        return Optional.of(entry.encodings.computeIfAbsent(key, encodingKey -> renderEncoding(entry, encodingKey, encodingMapper)));
+    }
+
+    /**
+     * Rendering of the group for given host if it is already cached, never renders
+     *
+     * @param group docket group name
+     * @param host request specific host and basePath
+     * @return cached rendering, or empty
+     */
+    public Optional<ApiDocs> peek(String group, ApiDocsHost host) {
+        return peek(group, host, null, ApiDocsEncoding.JSON);
+    }
+
+    /**
+     * Rendering of the group's slice in given encoding if it is already cached, never renders
+     *
+     * @param group docket group name
+     * @param host request specific host and basePath
+     * @param slice selection of operations, null for the whole document
+     * @param encoding data format of the rendering
+     * @return cached rendering, or empty
+     */
+    public Optional<ApiDocs> peek(String group, ApiDocsHost host, ApiDocsSlice slice, ApiDocsEncoding encoding) {
+        GroupEntry entry = entries.get(group);
+        if (entry == null || entry.version != source.version(group)) {
+            return Optional.empty();
+        }
+        if (encodingMappers.containsKey(encoding)) {
+            return Optional.ofNullable(entry.encodings.get(new EncodingKey(encoding, slice, host)));
+        }
+        if (slice != null) {
+            return Optional.ofNullable(entry.slices.get(new SliceKey(slice, host)));
+        }
+        return Optional.ofNullable(entry.variants.get(host));
+    }
+
+    public void evict(String group) {
+        entries.remove(group);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    protected GroupEntry entry(String group) {
+        Object version = source.version(group);
+        if (version == null) {
+            entries.remove(group);
+            return null;
+        }
+        GroupEntry entry = entries.get(group);
+        if (entry != null && entry.version == version) {
+            return entry;
+        }
+        // concurrent callers of the same group wait for a single rendering
+        return entries.compute(group, (key, existing) ->
+                existing != null && existing.version == version
+                        ? existing
+                        : new GroupEntry(version, source.render(group, version)));
+    }
+
+    protected ApiDocs renderVariant(ApiDocs canonical, ApiDocsHost host) {
+        try {
+            return ApiDocs.of(spliceHost(canonical, host));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected ApiDocs renderSlice(GroupEntry entry, SliceKey key) {
+        ObjectNode slice = index(entry).slice(key.getSlice());
+        return ApiDocs.of(write(withHost(slice, key.getHost())));
+    }
+
+    protected ApiDocs renderEncoding(GroupEntry entry, EncodingKey key, ObjectMapper encodingMapper) {
+        ObjectNode spec;
+        try {
+            spec = key.getSlice() == null
+                    ? (ObjectNode) objectMapper.readTree(entry.canonical.newInputStream())
+                    : index(entry).slice(key.getSlice());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        spec = withHost(spec, key.getHost());
+        if (machineProfile) {
+            spec = ApiDocsMachineProfile.apply(spec);
+        }
+        try {
+            return ApiDocs.of(encodingMapper.writeValueAsBytes(spec), key.getEncoding().getMediaType().toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected ApiDocsIndex index(GroupEntry entry) {
+        ApiDocsIndex index = entry.index;
+        if (index == null) {
+            synchronized (entry) {
+                index = entry.index;
+                if (index == null) {
+                    try {
+                        index = new ApiDocsIndex((ObjectNode) objectMapper.readTree(entry.canonical.newInputStream()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entry.index = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Same result as {@link #withHost(ObjectNode, ApiDocsHost)}, but the canonical bytes are copied around
+     * "host" and "basePath" instead of being parsed into a tree and serialized again. Only the top level
+     * fields are tokenized, their values are skipped.
+     */
+    protected byte[] spliceHost(ApiDocs canonical, ApiDocsHost host) throws IOException {
+        ByteBuffer json = canonical.asByteBuffer();
+        List<FieldRange> fields = new ArrayList<>();
+        FieldRange info = null;
+        String docketHost = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(canonical.newInputStream())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("API docs are not a JSON object");
+            }
+            FieldRange previous = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                int start = (int) parser.getTokenLocation().getByteOffset();
+                if (previous != null) {
+                    previous.end = fieldEnd(json, start);
+                }
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if ("host".equals(name)) {
+                    docketHost = parser.getValueAsString();
+                }
+                parser.skipChildren();
+                previous = new FieldRange(start, "host".equals(name) || "basePath".equals(name));
+                fields.add(previous);
+                if ("info".equals(name)) {
+                    info = previous;
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new IOException("API docs are not a JSON object");
+            }
+            if (previous != null) {
+                previous.end = fieldEnd(json, (int) parser.getTokenLocation().getByteOffset());
+            }
+        }
+
+        String resolvedHost = StringUtils.hasText(docketHost) ? docketHost : host.getHost();
+        ObjectNode hostFields = objectMapper.createObjectNode();
+        putHost(hostFields, resolvedHost, host.getBasePath());
+        byte[] hostBytes = write(hostFields);
+
+        // fields are written without the enclosing braces of their documents, separated by commas
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.remaining() + hostBytes.length);
+        WritableByteChannel channel = Channels.newChannel(out);
+        out.write('{');
+        for (FieldRange field : fields) {
+            if (!field.replaced) {
+                separate(out);
+                channel.write(json.duplicate().limit(field.end).position(field.start));
+            }
+            if (field == info) {
+                separate(out);
+                out.write(hostBytes, 1, hostBytes.length - 2);
+            }
+        }
+        if (info == null) {
+            separate(out);
+            out.write(hostBytes, 1, hostBytes.length - 2);
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    /**
+     * @return end of the field preceding the given offset, without whitespace and the separating comma
+     */
+    private static int fieldEnd(ByteBuffer json, int offset) {
+        int end = offset;
+        boolean comma = false;
+        while (end > 0) {
+            byte b = json.get(end - 1);
+            if (b == ',' && !comma) {
+                comma = true;
+            } else if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            end--;
+        }
+        return end;
+    }
+
+    private static void separate(ByteArrayOutputStream out) {
+        if (out.size() > 1) {
+            out.write(',');
+        }
+    }
+
+    /**
+     * Apply host and basePath the way springfox's default transformation does: basePath always
+     * comes from the request, host only if the Docket has none. Both are placed right after "info"
+     * to keep the property order of the original document.
+     */
+    protected ObjectNode withHost(ObjectNode spec, ApiDocsHost host) {
+        JsonNode docketHost = spec.get("host");
+        String resolvedHost = docketHost != null && StringUtils.hasText(docketHost.asText())
+                ? docketHost.asText()
+                : host.getHost();
+
+        ObjectNode result = spec.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = spec.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if ("host".equals(field.getKey()) || "basePath".equals(field.getKey())) {
+                continue;
+            }
+            result.set(field.getKey(), field.getValue());
+            if ("info".equals(field.getKey())) {
+                putHost(result, resolvedHost, host.getBasePath());
+            }
+        }
+        if (!result.has("basePath")) {
+            putHost(result, resolvedHost, host.getBasePath());
+        }
+        return result;
+    }
+
+    private void putHost(ObjectNode spec, String host, String basePath) {
+        if (StringUtils.hasText(host)) {
+            spec.put("host", host);
+        }
+        spec.put("basePath", basePath);
+    }
+
+    private byte[] write(JsonNode value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class FieldRange {
+        private final int start;
+        private final boolean replaced;
+        private int end;
+
+        FieldRange(int start, boolean replaced) {
+            this.start = start;
+            this.replaced = replaced;
+        }
+    }
+
+    protected static class GroupEntry {
+        private final Object version;
+        private final ApiDocs canonical;
+        private final ConcurrentMap<ApiDocsHost, ApiDocs> variants = new ConcurrentHashMap<>();
+        private final ConcurrentMap<SliceKey, ApiDocs> slices = new ConcurrentHashMap<>();
+        private final ConcurrentMap<EncodingKey, ApiDocs> encodings = new ConcurrentHashMap<>();
+        private volatile ApiDocsIndex index;
+
+        GroupEntry(Object version, ApiDocs canonical) {
+            this.version = version;
+            this.canonical = canonical;
+        }
+    }
+
+    @Value
+    protected static class SliceKey {
+        ApiDocsSlice slice;
+        ApiDocsHost host;
+    }
+
+    @Value
+    protected static class EncodingKey {
+        ApiDocsEncoding encoding;
+        ApiDocsSlice slice;
+        ApiDocsHost host;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.ClassUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ApiDocsEncoding. Data formats API docs can be answered in. JSON is always available, the binary
+ * formats only with the matching jackson-dataformat module on the classpath.
+ *
+ * Binary encodings are meant for machine clients and are rendered with {@link ApiDocsMachineProfile}.
+ */
+public enum ApiDocsEncoding {
+
+    JSON(MediaType.APPLICATION_JSON, null),
+    SMILE(MediaType.valueOf("application/x-jackson-smile"), "com.fasterxml.jackson.dataformat.smile.SmileFactory"),
+    CBOR(MediaType.valueOf("application/cbor"), "com.fasterxml.jackson.dataformat.cbor.CBORFactory");
+
+    private final MediaType mediaType;
+    private final String factoryClassName;
+
+    ApiDocsEncoding(MediaType mediaType, String factoryClassName) {
+        this.mediaType = mediaType;
+        this.factoryClassName = factoryClassName;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public boolean isBinary() {
+        return factoryClassName != null;
+    }
+
+    public boolean isAvailable() {
+        return factoryClassName == null || ClassUtils.isPresent(factoryClassName, ApiDocsEncoding.class.getClassLoader());
+    }
+
+    /**
+     * @return a new factory of this data format, the dataformat module is loaded reflectively since it's optional
+     */
+    public JsonFactory newFactory() {
+        if (factoryClassName == null) {
+            return new JsonFactory();
+        }
+        try {
+            return (JsonFactory) BeanUtils.instantiateClass(ClassUtils.forName(factoryClassName, ApiDocsEncoding.class.getClassLoader()));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(name() + " encoding of API docs requires " + factoryClassName, e);
+        }
+    }
+
+    /**
+     * Pick the encoding of a request by its Accept header, in order of quality and specificity.
+     * Anything but an explicitly accepted binary encoding is answered as JSON.
+     *
+     * @param request the docs request
+     * @param encodings the encodings to choose from
+     * @return the negotiated encoding, JSON if none of the given encodings was accepted
+     */
+    public static ApiDocsEncoding negotiate(HttpServletRequest request, Collection<ApiDocsEncoding> encodings) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || encodings.isEmpty()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (ApiDocsEncoding encoding : encodings) {
+                if (encoding.isBinary() && encoding.mediaType.equalsTypeAndSubtype(mediaType)) {
+                    return encoding;
+                }
+            }
+            if (JSON.mediaType.isCompatibleWith(mediaType)) {
+                return JSON;
+            }
+        }
+        return JSON;
+    }
+}
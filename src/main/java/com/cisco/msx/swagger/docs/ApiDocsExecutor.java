@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ApiDocsExecutor. Bounded executor generating documentation off the servlet request threads, for
+ * {@link ApiDocsFilter}, {@link LazyDocumentationFilter} and the UI bootstrap. Concurrent submissions with
+ * the same key share a single execution, so a document is generated once however many requests wait for it.
+ *
+ * Tasks run on virtual threads when the JVM provides them, at most "threads" at a time, and on a fixed pool
+ * of daemon threads otherwise. Either way at most "queueCapacity" tasks wait for a thread, further submissions
+ * are rejected with a {@link RejectedExecutionException}, which requests answer with 503.
+ */
+@Slf4j
+public class ApiDocsExecutor implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Semaphore submissions;
+    private final Duration timeout;
+    private final ConcurrentMap<Object, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads max number of tasks running concurrently
+     * @param queueCapacity max number of tasks waiting for a thread
+     * @param virtualThreads whether to run tasks on virtual threads when available
+     * @param timeout how long requests wait for their task before they're answered 503
+     */
+    public ApiDocsExecutor(int threads, int queueCapacity, boolean virtualThreads, Duration timeout) {
+        int poolSize = Math.max(1, threads);
+        int capacity = Math.max(1, queueCapacity);
+        ExecutorService virtualThreadExecutor = virtualThreads ? newVirtualThreadPerTaskExecutor() : null;
+        if (virtualThreadExecutor != null) {
+            this.executor = virtualThreadExecutor;
+            this.permits = new Semaphore(poolSize);
+            // each task is a thread of its own, bound the ones parked on the permits
+            this.submissions = new Semaphore(poolSize + capacity);
+        } else {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("swagger-docs-");
+            threadFactory.setDaemon(true);
+            this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+            this.permits = null;
+            this.submissions = null;
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return whether tasks run on virtual threads
+     */
+    public boolean isVirtual() {
+        return permits != null;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Run the task, or join the execution of a task submitted with the same key and not completed yet
+     *
+     * @param key identity of the task's result
+     * @param task the task
+     * @param <T> type of the result
+     * @return the result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(Object key, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        if (submissions != null && !submissions.tryAcquire()) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(new RejectedExecutionException("Too many API docs tasks waiting"));
+            return future;
+        }
+        try {
+            executor.execute(() -> run(key, future, task));
+        } catch (RejectedExecutionException e) {
+            releaseSubmission();
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @param error failure of a submitted task
+     * @return whether the task was rejected because too many tasks are waiting
+     */
+    public static boolean isRejected(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RejectedExecutionException;
+    }
+
+    protected <T> void run(Object key, CompletableFuture<T> future, Supplier<T> task) {
+        T result = null;
+        Throwable failure = null;
+        try {
+            acquire();
+            try {
+                result = task.get();
+            } finally {
+                release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        }
+        releaseSubmission();
+        // completing runs the waiting requests' callbacks, later submissions must start over
+        inFlight.remove(key, future);
+        if (failure != null) {
+            future.completeExceptionally(failure);
+        } else {
+            future.complete(result);
+        }
+    }
+
+    private void acquire() throws InterruptedException {
+        if (permits != null) {
+            permits.acquire();
+        }
+    }
+
+    private void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    private void releaseSubmission() {
+        if (submissions != null) {
+            submissions.release();
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() is only available on recent JVMs, looked up reflectively
+     *
+     * @return the executor, or null when the JVM has no virtual threads
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Virtual threads are not available, documentation runs on platform threads: {}", e.toString());
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
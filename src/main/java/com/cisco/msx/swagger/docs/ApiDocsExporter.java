@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ApiDocsExporter. Build time generation of API docs: boots the service's application (including
+ * the Docket pipeline and all SwaggerConfigurer beans) on a random port, writes the canonical document
+ * of every group as "&lt;group&gt;.json" into the output directory and shuts down again.
+ *
+ * Usage: {@code ApiDocsExporter <application class> <output directory> [application args...]}
+ *
+ * Point the output directory to "${project.build.outputDirectory}/META-INF/swagger" so the documents
+ * are packaged into the jar, and run the service with "swagger.source=classpath".
+ */
+@Slf4j
+public class ApiDocsExporter {
+
+    static final String[] DEFAULT_ARGS = {
+            "--server.port=0",
+            "--swagger.enabled=true",
+            "--swagger.source=scan",
+            "--springfox.documentation.auto-startup=true",
+            "--spring.main.banner-mode=off",
+    };
+
+    private ApiDocsExporter() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(
+                    "Usage: ApiDocsExporter <application class> <output directory> [application args...]");
+        }
+        Class<?> applicationClass = Class.forName(args[0], true, Thread.currentThread().getContextClassLoader());
+        List<Path> written = export(applicationClass, Paths.get(args[1]), Arrays.copyOfRange(args, 2, args.length));
+        log.info("Exported {} API docs group(s) to {}", written.size(), args[1]);
+    }
+
+    public static List<Path> export(Class<?> applicationClass, Path outputDirectory, String... applicationArgs) throws IOException {
+        List<String> args = new ArrayList<>(Arrays.asList(DEFAULT_ARGS));
+        args.addAll(Arrays.asList(applicationArgs));
+
+        SpringApplication application = new SpringApplication(applicationClass);
+        application.setWebApplicationType(WebApplicationType.SERVLET);
+        try (ConfigurableApplicationContext context = application.run(args.toArray(new String[0]))) {
+            List<JacksonModuleRegistrar> registrars = new ArrayList<>(context.getBeansOfType(JacksonModuleRegistrar.class).values());
+            ApiDocsSource source = new DocumentationApiDocsSource(
+                    context.getBean(DocumentationCache.class),
+                    context.getBean(ServiceModelToSwagger2Mapper.class),
+                    DocumentationApiDocsSource.swaggerObjectMapper(new JsonFactory(), registrars));
+            return write(source, outputDirectory);
+        }
+    }
+
+    static List<Path> write(ApiDocsSource source, Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+        List<Path> written = new ArrayList<>();
+        for (String group : source.groupNames()) {
+            Path file = outputDirectory.resolve(group + ClasspathApiDocsSource.FILE_EXTENSION);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                source.render(group, source.version(group)).writeTo(out, false);
+            }
+            log.info("Exported API docs group [{}] to {}", group, file);
+            written.add(file);
+        }
+        return written;
+    }
+}
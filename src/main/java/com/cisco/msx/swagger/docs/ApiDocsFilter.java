@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ApiDocsFilter. Answers GET requests of the springfox API docs endpoint from {@link ApiDocsCache},
+ * with strong ETags, 304 on If-None-Match and gzip content encoding when accepted.
+ *
+ * The "tag", "pathPrefix" and "operationId" parameters select a slice of the document, see {@link ApiDocsSlice}.
+ * Machine clients may ask for a binary encoding by Accept header, see {@link ApiDocsEncoding}.
+ *
+ * Groups unknown to the cache are passed down the chain to springfox.
+ *
+ * With an {@link ApiDocsExecutor}, documents not cached yet are rendered asynchronously (Servlet async), so the
+ * request thread is returned to the container while the document is generated. Requests waiting for the same
+ * rendering share it. Requests not answered within the executor's timeout get a 503.
+ */
+@Slf4j
+public class ApiDocsFilter extends OncePerRequestFilter {
+
+    public static final String GROUP_PARAMETER = "group";
+
+    private static final String UNKNOWN_GROUP_ATTRIBUTE = ApiDocsFilter.class.getName() + ".UNKNOWN_GROUP";
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final ApiDocsCache apiDocsCache;
+    private final String docsPath;
+    private final Set<ApiDocsEncoding> encodings;
+    private final ApiDocsExecutor executor;
+
+    public ApiDocsFilter(ApiDocsCache apiDocsCache, String docsPath) {
+        this(apiDocsCache, docsPath, Collections.emptySet());
+    }
+
+    public ApiDocsFilter(ApiDocsCache apiDocsCache, String docsPath, Set<ApiDocsEncoding> encodings) {
+        this(apiDocsCache, docsPath, encodings, null);
+    }
+
+    /**
+     * @param apiDocsCache cache to answer from
+     * @param docsPath path of the API docs endpoint
+     * @param encodings binary encodings offered in addition to JSON
+     * @param executor executor rendering documents asynchronously, null to render them on the request thread
+     */
+    public ApiDocsFilter(ApiDocsCache apiDocsCache, String docsPath, Set<ApiDocsEncoding> encodings,
+                         ApiDocsExecutor executor) {
+        this.apiDocsCache = apiDocsCache;
+        this.docsPath = docsPath;
+        this.encodings = encodings;
+        this.executor = executor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method))
+                || !docsPath.equals(URL_PATH_HELPER.getPathWithinApplication(request));
+    }
+
+    /**
+     * requests waiting for the lazy bootstrap are dispatched again once documentation is available
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return executor == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (request.getAttribute(UNKNOWN_GROUP_ATTRIBUTE) != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RenderKey key = new RenderKey(groupName(request), ApiDocsHost.from(request), ApiDocsSlice.from(request),
+                ApiDocsEncoding.negotiate(request, encodings));
+        if (executor != null && request.isAsyncSupported()
+                && !apiDocsCache.peek(key.getGroup(), key.getHost(), key.getSlice(), key.getEncoding()).isPresent()) {
+            renderAsync(request, response, key);
+            return;
+        }
+
+        Optional<ApiDocs> docs = render(key);
+        if (docs.isPresent()) {
+            write(request, response, docs.get());
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    protected Optional<ApiDocs> render(RenderKey key) {
+        return apiDocsCache.get(key.getGroup(), key.getHost(), key.getSlice(), key.getEncoding());
+    }
+
+    /**
+     * Render on the executor and write the document from there. Unknown groups are dispatched again,
+     * down the chain to springfox.
+     */
+    protected void renderAsync(HttpServletRequest request, HttpServletResponse response, RenderKey key) {
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(executor.getTimeout().toMillis());
+        AtomicBoolean answered = new AtomicBoolean();
+        asyncContext.addListener(new AsyncTimeoutListener(answered));
+
+        executor.submit(key, () -> render(key)).whenComplete((docs, error) -> {
+            if (!answered.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (ApiDocsExecutor.isRejected(error)) {
+                    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                } else if (error != null) {
+                    log.warn("Failed to render API docs group [{}]", key.getGroup(), error);
+                    response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                } else if (docs.isPresent()) {
+                    write(request, response, docs.get());
+                } else {
+                    request.setAttribute(UNKNOWN_GROUP_ATTRIBUTE, Boolean.TRUE);
+                    asyncContext.dispatch();
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to write API docs group [{}]: {}", key.getGroup(), e.toString());
+            }
+            asyncContext.complete();
+        });
+    }
+
+    protected String groupName(HttpServletRequest request) {
+        return Optional.ofNullable(request.getParameter(GROUP_PARAMETER)).orElse(Docket.DEFAULT_GROUP_NAME);
+    }
+
+    protected void write(HttpServletRequest request, HttpServletResponse response, ApiDocs docs) throws IOException {
+        writeDocs(request, response, docs);
+    }
+
+    /**
+     * Write the document with its ETag, answering If-None-Match with 304 and gzip encoding when accepted
+     *
+     * @param request the request
+     * @param response the response
+     * @param docs the document
+     * @throws IOException when writing fails
+     */
+    public static void writeDocs(HttpServletRequest request, HttpServletResponse response, ApiDocs docs) throws IOException {
+        boolean gzip = acceptsGzip(request);
+        response.setHeader(HttpHeaders.ETAG, gzip ? docs.getGzipEtag() : docs.getEtag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        if (docs.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(docs.getContentType());
+        if (MediaType.APPLICATION_JSON_VALUE.equals(docs.getContentType())) {
+            response.setCharacterEncoding("UTF-8");
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(gzip ? docs.getGzipSize() : docs.getSize());
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            docs.writeTo(response.getOutputStream(), gzip);
+        }
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        return acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim()) || "*".equals(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    @Value
+    protected static class RenderKey {
+        String group;
+        ApiDocsHost host;
+        ApiDocsSlice slice;
+        ApiDocsEncoding encoding;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * ApiDocsHealthIndicator. Reports whether API docs are warmed up, with state, duration and size per group.
+ *
+ * UP once every group is hot. While warming up (or after a failed warm-up) the configured status is
+ * reported, UNKNOWN by default so it doesn't affect the aggregated health. Use OUT_OF_SERVICE to keep
+ * the instance out of a readiness group until docs are hot.
+ */
+public class ApiDocsHealthIndicator extends AbstractHealthIndicator {
+
+    private final ApiDocsWarmUp apiDocsWarmUp;
+    private final Status warmingStatus;
+
+    public ApiDocsHealthIndicator(ApiDocsWarmUp apiDocsWarmUp, Status warmingStatus) {
+        super("API docs health check failed");
+        this.apiDocsWarmUp = apiDocsWarmUp;
+        this.warmingStatus = warmingStatus;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        builder.status(apiDocsWarmUp.isHot() ? Status.UP : warmingStatus);
+        apiDocsWarmUp.getStates().forEach(builder::withDetail);
+    }
+}
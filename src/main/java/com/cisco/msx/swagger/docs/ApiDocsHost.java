@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * ApiDocsHost. The request dependent part of an API document, i.e. "host" and "basePath".
+ * Resolved the same way as springfox's default base path and host name transformation,
+ * including Forwarded / X-Forwarded-* headers.
+ */
+@Value
+public class ApiDocsHost {
+
+    static final String X_FORWARDED_PREFIX = "X-Forwarded-Prefix";
+
+    String host;
+    String basePath;
+
+    public static ApiDocsHost from(HttpServletRequest request) {
+        return new ApiDocsHost(
+                host(new ServletServerHttpRequest(request)),
+                basePath(request.getHeader(X_FORWARDED_PREFIX), request.getContextPath()));
+    }
+
+    public static ApiDocsHost from(ServerHttpRequest request) {
+        return new ApiDocsHost(
+                host(request),
+                basePath(request.getHeaders().getFirst(X_FORWARDED_PREFIX), request.getPath().contextPath().value()));
+    }
+
+    private static String host(HttpRequest request) {
+        UriComponents components = UriComponentsBuilder.fromHttpRequest(request).build();
+        String host = components.getHost();
+        if (StringUtils.hasText(host) && components.getPort() != -1) {
+            host = host + ":" + components.getPort();
+        }
+        return host;
+    }
+
+    static String basePath(String forwardedPrefix, String contextPath) {
+        String basePath = StringUtils.hasText(forwardedPrefix)
+                ? StringUtils.trimTrailingCharacter(forwardedPrefix, '/') + contextPath
+                : contextPath;
+        return StringUtils.hasText(basePath) ? basePath : "/";
+    }
+}
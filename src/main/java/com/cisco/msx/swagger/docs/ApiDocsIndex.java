@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * ApiDocsIndex. Index of a Swagger 2 document from tags, paths and operation ids to operations, and from
+ * operations to the definitions they reference transitively. Built once per group rendering, and used
+ * to cut self-consistent slices out of the document.
+ */
+class ApiDocsIndex {
+
+    private static final String DEFINITIONS = "definitions";
+    private static final String PATHS = "paths";
+    private static final String TAGS = "tags";
+    private static final String REF = "$ref";
+    private static final String DEFINITION_REF_PREFIX = "#/definitions/";
+    private static final Set<String> HTTP_METHODS = Set.of("get", "put", "post", "delete", "options", "head", "patch");
+
+    private final ObjectNode spec;
+    private final List<Operation> operations = new ArrayList<>();
+    private final Map<String, List<Operation>> operationsByTag = new HashMap<>();
+    private final Map<String, Operation> operationsById = new HashMap<>();
+    private final Map<String, Set<String>> definitionRefs = new HashMap<>();
+    private final Map<String, Set<String>> transitiveDefinitionRefs = new ConcurrentHashMap<>();
+
+    ApiDocsIndex(ObjectNode spec) {
+        this.spec = spec;
+        JsonNode definitions = spec.path(DEFINITIONS);
+        definitions.fieldNames().forEachRemaining(name -> definitionRefs.put(name, refs(definitions.get(name))));
+
+        Iterator<Map.Entry<String, JsonNode>> paths = spec.path(PATHS).fields();
+        while (paths.hasNext()) {
+            Map.Entry<String, JsonNode> path = paths.next();
+            Set<String> pathRefs = refs(path.getValue().path("parameters"));
+            Iterator<Map.Entry<String, JsonNode>> methods = path.getValue().fields();
+            while (methods.hasNext()) {
+                Map.Entry<String, JsonNode> method = methods.next();
+                if (HTTP_METHODS.contains(method.getKey())) {
+                    Set<String> refs = new LinkedHashSet<>(pathRefs);
+                    refs.addAll(refs(method.getValue()));
+                    index(new Operation(operations.size(), path.getKey(), method.getKey(), method.getValue(), refs));
+                }
+            }
+        }
+    }
+
+    private void index(Operation operation) {
+        operations.add(operation);
+        operation.node.path(TAGS).forEach(tag -> operationsByTag.computeIfAbsent(tag.asText(), key -> new ArrayList<>()).add(operation));
+        JsonNode operationId = operation.node.get("operationId");
+        if (operationId != null) {
+            operationsById.put(operationId.asText(), operation);
+        }
+    }
+
+    /**
+     * @param slice selection of operations
+     * @return document with the selected operations, the definitions they reference and the tags they use
+     */
+    ObjectNode slice(ApiDocsSlice slice) {
+        List<Operation> selected = select(slice);
+
+        Set<String> definitions = new LinkedHashSet<>();
+        Set<String> tags = new LinkedHashSet<>();
+        ObjectNode paths = spec.objectNode();
+        for (Operation operation : selected) {
+            ObjectNode path = (ObjectNode) paths.get(operation.path);
+            if (path == null) {
+                path = paths.putObject(operation.path);
+                JsonNode pathParameters = spec.path(PATHS).path(operation.path).get("parameters");
+                if (pathParameters != null) {
+                    path.set("parameters", pathParameters);
+                }
+            }
+            path.set(operation.method, operation.node);
+            operation.refs.forEach(ref -> definitions.addAll(transitiveRefs(ref)));
+            operation.node.path(TAGS).forEach(tag -> tags.add(tag.asText()));
+        }
+
+        ObjectNode result = spec.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = spec.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            switch (field.getKey()) {
+                case PATHS:
+                    result.set(PATHS, paths);
+                    break;
+                case DEFINITIONS:
+                    result.set(DEFINITIONS, definitions(definitions));
+                    break;
+                case TAGS:
+                    result.set(TAGS, tags((ArrayNode) field.getValue(), tags));
+                    break;
+                default:
+                    result.set(field.getKey(), field.getValue());
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private List<Operation> select(ApiDocsSlice slice) {
+        Collection<Operation> candidates = operations;
+        if (!slice.getOperationIds().isEmpty()) {
+            candidates = slice.getOperationIds().stream()
+                    .map(operationsById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        } else if (!slice.getTags().isEmpty()) {
+            candidates = slice.getTags().stream()
+                    .flatMap(tag -> operationsByTag.getOrDefault(tag, Collections.emptyList()).stream())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        List<Operation> selected = new ArrayList<>();
+        for (Operation operation : candidates) {
+            if (matches(slice, operation)) {
+                selected.add(operation);
+            }
+        }
+        // keep the order of the document
+        selected.sort(Comparator.comparingInt(operation -> operation.ordinal));
+        return selected;
+    }
+
+    private static boolean matches(ApiDocsSlice slice, Operation operation) {
+        if (!slice.getPathPrefixes().isEmpty()
+                && slice.getPathPrefixes().stream().noneMatch(operation.path::startsWith)) {
+            return false;
+        }
+        if (!slice.getTags().isEmpty()) {
+            boolean tagged = false;
+            for (JsonNode tag : operation.node.path(TAGS)) {
+                tagged |= slice.getTags().contains(tag.asText());
+            }
+            if (!tagged) {
+                return false;
+            }
+        }
+        return slice.getOperationIds().isEmpty()
+                || slice.getOperationIds().contains(operation.node.path("operationId").asText());
+    }
+
+    private Set<String> transitiveRefs(String definition) {
+        return transitiveDefinitionRefs.computeIfAbsent(definition, root -> {
+            Set<String> visited = new LinkedHashSet<>();
+            Deque<String> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                String current = pending.pop();
+                if (visited.add(current)) {
+                    definitionRefs.getOrDefault(current, Collections.emptySet()).forEach(pending::push);
+                }
+            }
+            return visited;
+        });
+    }
+
+    private ObjectNode definitions(Set<String> names) {
+        ObjectNode definitions = spec.objectNode();
+        JsonNode all = spec.path(DEFINITIONS);
+        // keep the order of the document
+        all.fieldNames().forEachRemaining(name -> {
+            if (names.contains(name)) {
+                definitions.set(name, all.get(name));
+            }
+        });
+        return definitions;
+    }
+
+    private ArrayNode tags(ArrayNode all, Set<String> used) {
+        ArrayNode tags = spec.arrayNode();
+        all.forEach(tag -> {
+            if (used.contains(tag.path("name").asText())) {
+                tags.add(tag);
+            }
+        });
+        return tags;
+    }
+
+    /**
+     * @return names of all definitions referenced by given node
+     */
+    private static Set<String> refs(JsonNode node) {
+        Set<String> refs = new LinkedHashSet<>();
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            JsonNode current = pending.pop();
+            if (current.isObject()) {
+                JsonNode ref = current.get(REF);
+                if (ref != null && ref.isTextual() && ref.asText().startsWith(DEFINITION_REF_PREFIX)) {
+                    refs.add(ref.asText().substring(DEFINITION_REF_PREFIX.length()));
+                }
+                current.elements().forEachRemaining(pending::push);
+            } else if (current.isArray()) {
+                current.elements().forEachRemaining(pending::push);
+            }
+        }
+        return refs;
+    }
+
+    private static class Operation {
+        private final int ordinal;
+        private final String path;
+        private final String method;
+        private final JsonNode node;
+        private final Set<String> refs;
+
+        Operation(int ordinal, String path, String method, JsonNode node, Set<String> refs) {
+            this.ordinal = ordinal;
+            this.path = path;
+            this.method = method;
+            this.node = node;
+            this.refs = refs;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ApiDocsMachineProfile. Compact copy of a Swagger 2 document for machine clients: descriptions, summaries,
+ * examples and external docs are dropped, and "info" is reduced to title and version.
+ *
+ * Maps keyed by names (paths, definitions, properties, responses ...) are kept as they are, so a property
+ * or parameter called "description" survives. Response objects keep an empty description since it's required.
+ * The given document is never modified.
+ */
+final class ApiDocsMachineProfile {
+
+    private static final Set<String> DROPPED = Set.of(
+            "description", "summary", "example", "examples", "x-example", "externalDocs");
+    private static final Set<String> NAME_MAPS = Set.of(
+            "paths", "definitions", "properties", "parameters", "responses", "securityDefinitions", "headers", "scopes");
+    private static final Set<String> INFO_KEPT = Set.of("title", "version");
+
+    private ApiDocsMachineProfile() {}
+
+    static ObjectNode apply(ObjectNode spec) {
+        ObjectNode result = (ObjectNode) copy(spec, false);
+        JsonNode info = spec.get("info");
+        if (info != null && info.isObject()) {
+            ObjectNode compactInfo = result.objectNode();
+            INFO_KEPT.stream()
+                    .filter(info::has)
+                    .forEach(name -> compactInfo.set(name, info.get(name)));
+            result.set("info", compactInfo);
+        }
+        return result;
+    }
+
+    /**
+     * @param node node to copy
+     * @param response whether the node is a response object
+     */
+    private static JsonNode copy(JsonNode node, boolean response) {
+        if (node.isArray()) {
+            ArrayNode result = ((ArrayNode) node).arrayNode(node.size());
+            node.forEach(element -> result.add(copy(element, false)));
+            return result;
+        }
+        if (!node.isObject()) {
+            return node;
+        }
+        ObjectNode result = ((ObjectNode) node).objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            if (DROPPED.contains(name)) {
+                continue;
+            }
+            if (NAME_MAPS.contains(name) && value.isObject()) {
+                result.set(name, copyNameMap(value, "responses".equals(name)));
+            } else {
+                result.set(name, copy(value, false));
+            }
+        }
+        if (response && !result.has("$ref")) {
+            result.put("description", "");
+        }
+        return result;
+    }
+
+    private static JsonNode copyNameMap(JsonNode node, boolean responses) {
+        ObjectNode result = ((ObjectNode) node).objectNode();
+        Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            result.set(entry.getKey(), copy(entry.getValue(), responses));
+        }
+        return result;
+    }
+}
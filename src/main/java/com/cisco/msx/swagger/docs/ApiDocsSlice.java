@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.Value;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * ApiDocsSlice. Selection of operations of an API document: operations having any of the tags, a path
+ * starting with any of the prefixes and any of the operation ids. Criteria without values don't restrict.
+ */
+@Value
+public class ApiDocsSlice {
+
+    public static final String TAG_PARAMETER = "tag";
+    public static final String PATH_PREFIX_PARAMETER = "pathPrefix";
+    public static final String OPERATION_ID_PARAMETER = "operationId";
+
+    Set<String> tags;
+    Set<String> pathPrefixes;
+    Set<String> operationIds;
+
+    /**
+     * @param request API docs request
+     * @return the slice requested by the "tag", "pathPrefix" and "operationId" parameters, null for the whole document
+     */
+    public static ApiDocsSlice from(HttpServletRequest request) {
+        ApiDocsSlice slice = new ApiDocsSlice(
+                values(request, TAG_PARAMETER),
+                values(request, PATH_PREFIX_PARAMETER),
+                values(request, OPERATION_ID_PARAMETER));
+        return slice.isEmpty() ? null : slice;
+    }
+
+    public boolean isEmpty() {
+        return tags.isEmpty() && pathPrefixes.isEmpty() && operationIds.isEmpty();
+    }
+
+    private static Set<String> values(HttpServletRequest request, String parameter) {
+        String[] values = request.getParameterValues(parameter);
+        if (values == null) {
+            return Collections.emptySet();
+        }
+        // sorted, so equal slices requested in different order share the cache entry
+        Set<String> result = new TreeSet<>();
+        Arrays.stream(values)
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .forEach(result::add);
+        return Collections.unmodifiableSet(result);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.FileSystemUtils;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * ApiDocsSnapshot. Local on-disk copy of the canonical API docs of all groups, tagged with a fingerprint
+ * of everything the documents are generated from (request mappings, swagger properties, SwaggerConfigurer
+ * classes and library versions).
+ *
+ * When the fingerprint of the starting application matches the snapshot, documents are served from the
+ * snapshot and springfox's documentation is skipped. Otherwise springfox documents as usual and the
+ * snapshot is replaced afterwards. The snapshot is written to a temporary directory first, then the previous
+ * snapshot is renamed to a backup, the new one renamed into place and the backup deleted. A crash while writing
+ * never leaves a partial snapshot behind, and a crash between the renames leaves the backup, which is restored
+ * from on the next start.
+ */
+@Slf4j
+public class ApiDocsSnapshot {
+
+    static final String FINGERPRINT_FILE = "fingerprint";
+    static final String BACKUP_SUFFIX = ".old";
+
+    private final Path directory;
+    private final Path backup;
+    private final Supplier<String> fingerprint;
+    private volatile Map<String, Path> restored = Collections.emptyMap();
+    private volatile String currentFingerprint;
+
+    /**
+     * @param directory directory the snapshot is kept in, exclusively
+     * @param fingerprint fingerprint of the running application, evaluated once documentation is due
+     */
+    public ApiDocsSnapshot(Path directory, Supplier<String> fingerprint) {
+        this.directory = directory;
+        this.backup = directory.resolveSibling(directory.getFileName() + BACKUP_SUFFIX);
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Compute the fingerprint of given inputs
+     *
+     * @param requestMappings string representation of all request mappings and their handlers
+     * @param properties string representation of the swagger properties
+     * @param configurers SwaggerConfigurer classes
+     * @return hex encoded SHA-256
+     */
+    public static String fingerprint(Collection<String> requestMappings, String properties, Collection<Class<?>> configurers) {
+        StringBuilder inputs = new StringBuilder();
+        inputs.append(version(ApiDocsSnapshot.class)).append('\n');
+        inputs.append(version(Docket.class)).append('\n');
+        inputs.append(properties).append('\n');
+        configurers.stream().map(Class::getName).sorted().forEach(name -> inputs.append(name).append('\n'));
+        requestMappings.stream().sorted().forEach(mapping -> inputs.append(mapping).append('\n'));
+        return ApiDocs.sha256(inputs.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String version(Class<?> type) {
+        return String.valueOf(type.getPackage() == null ? null : type.getPackage().getImplementationVersion());
+    }
+
+    /**
+     * Restore the snapshot if its fingerprint matches the application's
+     *
+     * @return true if the snapshot is restored and documentation can be skipped, false for a mismatch or an
+     * empty snapshot
+     */
+    public boolean restore() {
+        String current = fingerprint.get();
+        currentFingerprint = current;
+        Path fingerprintFile = directory.resolve(FINGERPRINT_FILE);
+        try {
+            if (!Files.exists(directory) && Files.isDirectory(backup)) {
+                // interrupted while swapping in a new snapshot, the previous one is still complete
+                Files.move(backup, directory, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Recovered API docs snapshot in {} from {}", directory, backup);
+            }
+            if (!Files.isRegularFile(fingerprintFile)
+                    || !current.equals(new String(Files.readAllBytes(fingerprintFile), StandardCharsets.UTF_8).trim())) {
+                log.info("API docs snapshot in {} doesn't match the application, documenting API", directory);
+                restored = Collections.emptyMap();
+                return false;
+            }
+            Map<String, Path> groups = new LinkedHashMap<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + ClasspathApiDocsSource.FILE_EXTENSION)) {
+                for (Path file : files) {
+                    String filename = file.getFileName().toString();
+                    groups.put(filename.substring(0, filename.length() - ClasspathApiDocsSource.FILE_EXTENSION.length()), file);
+                }
+            }
+            if (groups.isEmpty()) {
+                log.info("API docs snapshot in {} has no groups, documenting API", directory);
+                restored = Collections.emptyMap();
+                return false;
+            }
+            restored = Collections.unmodifiableMap(groups);
+            log.info("Restored API docs groups {} from snapshot in {}", groups.keySet(), directory);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to read API docs snapshot in {}, documenting API", directory, e);
+            restored = Collections.emptyMap();
+            return false;
+        }
+    }
+
+    /**
+     * Replace the snapshot with the current documents of the cache. Failures are logged only,
+     * the application keeps serving its documents either way.
+     *
+     * @param apiDocsCache cache of the documented groups
+     */
+    public void save(ApiDocsCache apiDocsCache) {
+        String current = currentFingerprint != null ? currentFingerprint : fingerprint.get();
+        Path parent = directory.toAbsolutePath().getParent();
+        Path staging = null;
+        boolean backedUp = false;
+        try {
+            Files.createDirectories(parent);
+            staging = Files.createTempDirectory(parent, directory.getFileName() + ".");
+            for (String group : apiDocsCache.groupNames()) {
+                ApiDocs docs = apiDocsCache.get(group).orElse(null);
+                if (docs != null) {
+                    try (OutputStream out = Files.newOutputStream(staging.resolve(group + ClasspathApiDocsSource.FILE_EXTENSION))) {
+                        docs.writeTo(out, false);
+                    }
+                }
+            }
+            Files.write(staging.resolve(FINGERPRINT_FILE), current.getBytes(StandardCharsets.UTF_8));
+            FileSystemUtils.deleteRecursively(backup);
+            if (Files.exists(directory)) {
+                Files.move(directory, backup, StandardCopyOption.ATOMIC_MOVE);
+                backedUp = true;
+            }
+            Files.move(staging, directory, StandardCopyOption.ATOMIC_MOVE);
+            deleteQuietly(backup);
+            log.info("Saved API docs snapshot of groups {} to {}", apiDocsCache.groupNames(), directory);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to save API docs snapshot to {}", directory, e);
+            deleteQuietly(staging);
+            if (backedUp && !Files.exists(directory)) {
+                restoreBackup();
+            }
+        }
+    }
+
+    private void restoreBackup() {
+        try {
+            Files.move(backup, directory, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to restore API docs snapshot {} from {}", directory, backup, e);
+        }
+    }
+
+    /**
+     * @return groups restored from the snapshot, and their files. Empty unless restored
+     */
+    public Map<String, Path> getRestored() {
+        return restored;
+    }
+
+    public boolean isRestored() {
+        return !restored.isEmpty();
+    }
+
+    /**
+     * Read a snapshot file. Documents are kept on the heap like rendered ones, with their gzip encoding
+     *
+     * @param file file of a restored group
+     * @return the group's document
+     */
+    public ApiDocs read(Path file) {
+        try {
+            return ApiDocs.of(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            FileSystemUtils.deleteRecursively(path);
+        } catch (IOException e) {
+            log.debug("Failed to delete {}", path, e);
+        }
+    }
+}
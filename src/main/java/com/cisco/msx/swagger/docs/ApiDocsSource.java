@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import java.util.Set;
+
+/**
+ * ApiDocsSource. Where {@link ApiDocsCache} gets the canonical API document of each group from.
+ */
+public interface ApiDocsSource {
+
+    /**
+     * @return names of all groups currently available
+     */
+    Set<String> groupNames();
+
+    /**
+     * Version of the group's current document. Renderings are reused as long as the same instance is returned.
+     *
+     * @param group docket group name
+     * @return version object, or null if the group is not available
+     */
+    Object version(String group);
+
+    /**
+     * Render the canonical document (without request specific host and basePath)
+     *
+     * @param group docket group name
+     * @param version the version previously returned by {@link #version(String)}
+     * @return rendered document
+     */
+    ApiDocs render(String group, Object version);
+}
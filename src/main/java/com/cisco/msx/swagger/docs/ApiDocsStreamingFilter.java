@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.swagger.metrics.SwaggerMetrics;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.models.Swagger;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spi.DocumentationType;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+import springfox.documentation.swagger2.web.SwaggerTransformationContext;
+import springfox.documentation.swagger2.web.WebMvcSwaggerTransformationFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ApiDocsStreamingFilter. Answers GET requests of the springfox API docs endpoint by serializing the mapped
+ * {@link Swagger} model straight into the response through a {@link JsonGenerator}, gzip encoded on the fly
+ * when accepted. springfox's controller renders the whole document into a String first, which for large
+ * groups means several short-lived copies of the spec per request.
+ *
+ * The response is chunked, there is no Content-Length and no ETag. All {@link WebMvcSwaggerTransformationFilter}
+ * beans are applied like springfox does. Groups unknown to springfox are passed down the chain.
+ */
+public class ApiDocsStreamingFilter extends OncePerRequestFilter {
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final DocumentationCache documentationCache;
+    private final ServiceModelToSwagger2Mapper mapper;
+    private final ObjectMapper objectMapper;
+    private final List<WebMvcSwaggerTransformationFilter> transformationFilters;
+    private final String docsPath;
+    private final int bufferSize;
+    private final Supplier<SwaggerMetrics> swaggerMetrics;
+
+    /**
+     * @param documentationCache springfox's documentation of all groups
+     * @param mapper springfox's mapper to the Swagger 2 model
+     * @param objectMapper configured like springfox's own, see {@link DocumentationApiDocsSource#swaggerObjectMapper}
+     * @param transformationFilters request specific transformations of the Swagger model
+     * @param docsPath path of the API docs endpoint
+     * @param bufferSize size of the response and gzip buffers in bytes
+     * @param swaggerMetrics metrics to record serialization time to
+     */
+    public ApiDocsStreamingFilter(DocumentationCache documentationCache,
+                                  ServiceModelToSwagger2Mapper mapper,
+                                  ObjectMapper objectMapper,
+                                  List<WebMvcSwaggerTransformationFilter> transformationFilters,
+                                  String docsPath,
+                                  int bufferSize,
+                                  Supplier<SwaggerMetrics> swaggerMetrics) {
+        this.documentationCache = documentationCache;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.transformationFilters = transformationFilters.stream()
+                .filter(filter -> filter.supports(DocumentationType.SWAGGER_2))
+                .sorted(AnnotationAwareOrderComparator.INSTANCE)
+                .collect(Collectors.toList());
+        this.docsPath = docsPath;
+        this.bufferSize = bufferSize;
+        this.swaggerMetrics = swaggerMetrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method))
+                || !docsPath.equals(URL_PATH_HELPER.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String group = Optional.ofNullable(request.getParameter(ApiDocsFilter.GROUP_PARAMETER)).orElse(Docket.DEFAULT_GROUP_NAME);
+        Documentation documentation = documentationCache.documentationByGroup(group);
+        if (documentation == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Swagger swagger = transform(mapper.mapDocumentation(documentation), request);
+        boolean gzip = ApiDocsFilter.acceptsGzip(request);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        response.setBufferSize(bufferSize);
+        long start = System.nanoTime();
+        write(swagger, response.getOutputStream(), gzip);
+        swaggerMetrics.get().recordPhase(SwaggerMetrics.PHASE_SERIALIZATION, group, System.nanoTime() - start);
+    }
+
+    protected Swagger transform(Swagger swagger, HttpServletRequest request) {
+        SwaggerTransformationContext<HttpServletRequest> context = new SwaggerTransformationContext<>(swagger, request);
+        for (WebMvcSwaggerTransformationFilter filter : transformationFilters) {
+            context = context.next(filter.transform(context));
+        }
+        return context.getSpecification();
+    }
+
+    /**
+     * Serialize the model into the given stream, never holding more than the generator's and gzip buffers.
+     * The stream is flushed but not closed.
+     */
+    protected void write(Swagger swagger, OutputStream out, boolean gzip) throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, bufferSize) : null;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip ? gzipOut : out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            objectMapper.writeValue(generator, swagger);
+        }
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+    }
+}
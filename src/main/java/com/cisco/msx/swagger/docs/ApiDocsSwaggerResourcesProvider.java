@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger.web.SwaggerResource;
+import springfox.documentation.swagger.web.SwaggerResourcesProvider;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * ApiDocsSwaggerResourcesProvider. Lists the groups known to {@link ApiDocsCache} as swagger resources,
+ * for when springfox's DocumentationCache is not populated (e.g. API docs served from the classpath).
+ * Locations follow the same format as springfox's in-memory provider.
+ */
+public class ApiDocsSwaggerResourcesProvider implements SwaggerResourcesProvider {
+
+    private final Supplier<ApiDocsCache> apiDocsCache;
+    private final String docsPath;
+
+    public ApiDocsSwaggerResourcesProvider(Supplier<ApiDocsCache> apiDocsCache, String docsPath) {
+        this.apiDocsCache = apiDocsCache;
+        this.docsPath = docsPath;
+    }
+
+    @Override
+    public List<SwaggerResource> get() {
+        return apiDocsCache.get().groupNames().stream()
+                .sorted()
+                .map(this::resource)
+                .collect(Collectors.toList());
+    }
+
+    protected SwaggerResource resource(String group) {
+        SwaggerResource resource = new SwaggerResource();
+        resource.setName(group);
+        resource.setUrl(Docket.DEFAULT_GROUP_NAME.equals(group) ? docsPath : docsPath + "?group=" + group);
+        resource.setSwaggerVersion("2.0");
+        return resource;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.swagger.metrics.SwaggerMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * ApiDocsTrafficFilter. Records latency and bytes out of the documentation endpoints ("/v2/api-docs" and
+ * "/swagger-resources/**") and protects the servlet threads shared with business traffic from them:
+ * <ul>
+ *     <li>a bulkhead limits the number of documentation requests handled concurrently</li>
+ *     <li>a token bucket limits their rate</li>
+ * </ul>
+ * Requests exceeding either limit get 429, or the cached copy of the requested API docs if already rendered.
+ * Asynchronous requests (see {@link ApiDocsExecutor}) hold their permit and are recorded until they complete.
+ */
+@Slf4j
+public class ApiDocsTrafficFilter extends OncePerRequestFilter {
+
+    public static final String ENDPOINT_API_DOCS = "api-docs";
+    public static final String ENDPOINT_SWAGGER_RESOURCES = "swagger-resources";
+    public static final String REJECTED_CONCURRENCY = "concurrency";
+    public static final String REJECTED_RATE = "rate";
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final String docsPath;
+    private final Semaphore bulkhead;
+    private final TokenBucket tokenBucket;
+    private final ApiDocsCache apiDocsCache;
+    private final Supplier<SwaggerMetrics> swaggerMetricsSupplier;
+    private volatile SwaggerMetrics swaggerMetrics;
+
+    /**
+     * @param docsPath path of the API docs endpoint
+     * @param maxConcurrentRequests max concurrent documentation requests, 0 for no limit
+     * @param requestsPerSecond max sustained rate of documentation requests, 0 for no limit
+     * @param burst max burst above the sustained rate
+     * @param apiDocsCache cache to answer rejected API docs requests from, null to always answer 429
+     * @param swaggerMetrics resolved on first request
+     */
+    public ApiDocsTrafficFilter(String docsPath, int maxConcurrentRequests, double requestsPerSecond, int burst,
+                                ApiDocsCache apiDocsCache, Supplier<SwaggerMetrics> swaggerMetrics) {
+        this.docsPath = docsPath;
+        this.bulkhead = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests) : null;
+        this.tokenBucket = requestsPerSecond > 0
+                ? new TokenBucket(requestsPerSecond, burst > 0 ? burst : (int) Math.ceil(requestsPerSecond))
+                : null;
+        this.apiDocsCache = apiDocsCache;
+        this.swaggerMetricsSupplier = swaggerMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = docsPath.equals(URL_PATH_HELPER.getPathWithinApplication(request))
+                ? ENDPOINT_API_DOCS
+                : ENDPOINT_SWAGGER_RESOURCES;
+        long start = System.nanoTime();
+
+        if (tokenBucket != null && !tokenBucket.tryConsume()) {
+            reject(request, response, endpoint, REJECTED_RATE, start);
+            return;
+        }
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            reject(request, response, endpoint, REJECTED_CONCURRENCY, start);
+            return;
+        }
+
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, countingResponse);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        countingResponse.flushWriter();
+                        complete(endpoint, countingResponse, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        // completed by the timeout handling of the documentation filters
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        // followed by completion
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        // e.g. rendering after the lazy bootstrap, keep waiting for completion
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+                return;
+            }
+            countingResponse.flushWriter();
+        } finally {
+            if (!async) {
+                complete(endpoint, countingResponse, start);
+            }
+        }
+    }
+
+    private void complete(String endpoint, CountingResponseWrapper countingResponse, long start) {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+        metrics().recordRequest(endpoint, countingResponse.getStatus(),
+                System.nanoTime() - start, countingResponse.getByteCount());
+    }
+
+    protected void reject(HttpServletRequest request, HttpServletResponse response, String endpoint, String reason, long start)
+            throws IOException {
+        metrics().recordRejection(endpoint, reason);
+        Optional<ApiDocs> cached = ENDPOINT_API_DOCS.equals(endpoint) && apiDocsCache != null && ApiDocsSlice.from(request) == null
+                && ApiDocsEncoding.negotiate(request, EnumSet.allOf(ApiDocsEncoding.class)) == ApiDocsEncoding.JSON
+                ? apiDocsCache.peek(groupName(request), ApiDocsHost.from(request))
+                : Optional.empty();
+        if (cached.isPresent()) {
+            log.debug("Documentation request limit ({}) exceeded, answering {} from cache", reason, request.getRequestURI());
+            CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+            ApiDocsFilter.writeDocs(request, countingResponse, cached.get());
+            metrics().recordRequest(endpoint, countingResponse.getStatus(),
+                    System.nanoTime() - start, countingResponse.getByteCount());
+            return;
+        }
+        log.debug("Documentation request limit ({}) exceeded, rejecting {}", reason, request.getRequestURI());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value());
+        metrics().recordRequest(endpoint, HttpStatus.TOO_MANY_REQUESTS.value(), System.nanoTime() - start, 0);
+    }
+
+    private static String groupName(HttpServletRequest request) {
+        return Optional.ofNullable(request.getParameter(ApiDocsFilter.GROUP_PARAMETER))
+                .orElse(Docket.DEFAULT_GROUP_NAME);
+    }
+
+    private SwaggerMetrics metrics() {
+        SwaggerMetrics metrics = swaggerMetrics;
+        if (metrics == null) {
+            metrics = Optional.ofNullable(swaggerMetricsSupplier.get()).orElse(SwaggerMetrics.NONE);
+            swaggerMetrics = metrics;
+        }
+        return metrics;
+    }
+}
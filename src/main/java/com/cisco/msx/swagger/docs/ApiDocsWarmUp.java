@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiDocsWarmUp. Pre-generates and pre-serializes every group into {@link ApiDocsCache} after startup,
+ * on a bounded executor, so the first client doesn't pay the generation latency. With lazy bootstrap
+ * the warm-up starts once documentation is available.
+ *
+ * Per group warm-up state is kept for health reporting.
+ */
+@Slf4j
+public class ApiDocsWarmUp implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    public enum State {
+        PENDING, WARMING, HOT, FAILED
+    }
+
+    @Value
+    @Builder(toBuilder = true)
+    public static class GroupState {
+        State state;
+        long durationMs;
+        int size;
+        int gzipSize;
+        String error;
+    }
+
+    private final ApiDocsCache apiDocsCache;
+    private final LazyDocumentationBootstrapper lazyDocumentationBootstrapper;
+    private final ExecutorService executor;
+    private final Map<String, GroupState> states = new ConcurrentHashMap<>();
+    private volatile CompletableFuture<Void> warmUp;
+
+    /**
+     * @param apiDocsCache the cache to warm up
+     * @param lazyDocumentationBootstrapper the lazy bootstrapper to wait for, null if documentation is eager
+     * @param threads max number of groups warmed up concurrently
+     */
+    public ApiDocsWarmUp(ApiDocsCache apiDocsCache, LazyDocumentationBootstrapper lazyDocumentationBootstrapper, int threads) {
+        this.apiDocsCache = apiDocsCache;
+        this.lazyDocumentationBootstrapper = lazyDocumentationBootstrapper;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("swagger-warm-up-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), threadFactory);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        warmUp();
+    }
+
+    public synchronized CompletableFuture<Void> warmUp() {
+        if (warmUp == null) {
+            CompletableFuture<Void> documented = lazyDocumentationBootstrapper == null
+                    ? CompletableFuture.completedFuture(null)
+                    : lazyDocumentationBootstrapper.bootstrap();
+            warmUp = documented.thenComposeAsync(ignored -> warmUpGroups(), executor);
+        }
+        return warmUp;
+    }
+
+    public Map<String, GroupState> getStates() {
+        return Collections.unmodifiableMap(states);
+    }
+
+    public boolean isHot() {
+        return warmUp != null && warmUp.isDone()
+                && states.values().stream().allMatch(state -> state.getState() == State.HOT);
+    }
+
+    protected CompletableFuture<Void> warmUpGroups() {
+        apiDocsCache.groupNames().forEach(group -> states.put(group, GroupState.builder().state(State.PENDING).build()));
+        return CompletableFuture.allOf(apiDocsCache.groupNames().stream()
+                .map(group -> CompletableFuture.runAsync(() -> warmUpGroup(group), executor))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    protected void warmUpGroup(String group) {
+        states.put(group, GroupState.builder().state(State.WARMING).build());
+        long start = System.nanoTime();
+        try {
+            GroupState.GroupStateBuilder state = GroupState.builder().state(State.HOT);
+            apiDocsCache.get(group).ifPresent(docs -> state.size(docs.getSize()).gzipSize(docs.getGzipSize()));
+            states.put(group, state.durationMs(elapsedMs(start)).build());
+            log.debug("Warmed up API docs group [{}] in {} ms", group, elapsedMs(start));
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm up API docs group [{}]", group, e);
+            states.put(group, GroupState.builder()
+                    .state(State.FAILED)
+                    .durationMs(elapsedMs(start))
+                    .error(e.toString())
+                    .build());
+        }
+    }
+
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
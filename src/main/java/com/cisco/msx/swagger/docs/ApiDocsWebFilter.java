@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * ApiDocsWebFilter. Reactive counterpart of {@link ApiDocsFilter}: answers GET and HEAD requests of the API docs
+ * endpoint from {@link ApiDocsCache}, with ETag / 304 support and gzip encoding when accepted.
+ *
+ * Cached documents are written as a single {@link org.springframework.core.io.buffer.DataBuffer} wrapping the
+ * cached bytes, without copying or blocking. Documents not rendered yet are rendered on the bounded elastic
+ * scheduler, never on an event loop thread. Groups unknown to the cache are passed down the chain.
+ */
+public class ApiDocsWebFilter implements WebFilter {
+
+    private final ApiDocsCache apiDocsCache;
+    private final String docsPath;
+
+    public ApiDocsWebFilter(ApiDocsCache apiDocsCache, String docsPath) {
+        this.apiDocsCache = apiDocsCache;
+        this.docsPath = docsPath;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!(HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod()))
+                || !docsPath.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        String group = Optional.ofNullable(request.getQueryParams().getFirst(ApiDocsFilter.GROUP_PARAMETER))
+                .orElse(Docket.DEFAULT_GROUP_NAME);
+        ApiDocsHost host = ApiDocsHost.from(request);
+        return render(group, host).flatMap(docs -> docs.isPresent()
+                ? write(exchange, docs.get())
+                : chain.filter(exchange));
+    }
+
+    protected Mono<Optional<ApiDocs>> render(String group, ApiDocsHost host) {
+        Optional<ApiDocs> cached = apiDocsCache.peek(group, host);
+        if (cached.isPresent()) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> apiDocsCache.get(group, host)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    protected Mono<Void> write(ServerWebExchange exchange, ApiDocs docs) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        boolean gzip = ApiDocsFilter.acceptsGzip(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        headers.setETag(gzip ? docs.getGzipEtag() : docs.getEtag());
+        headers.setVary(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING));
+        headers.setCacheControl("no-cache");
+
+        if (docs.matches(request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        headers.setContentLength(gzip ? docs.getGzipSize() : docs.getSize());
+        if (HttpMethod.HEAD.equals(request.getMethod())) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(docs.asByteBuffer(gzip))));
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AsyncTimeoutListener. Answers 503 to documentation requests not answered within the async timeout,
+ * the work they wait for goes on for later requests. Whoever sets "answered" first answers the request.
+ */
+class AsyncTimeoutListener implements AsyncListener {
+
+    private final AtomicBoolean answered;
+
+    AsyncTimeoutListener(AtomicBoolean answered) {
+        this.answered = answered;
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+        if (answered.compareAndSet(false, true)) {
+            HttpServletResponse response = (HttpServletResponse) event.getAsyncContext().getResponse();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            event.getAsyncContext().complete();
+        }
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        // nothing to release
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        answered.set(true);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        // not restarted
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ClasspathApiDocsSource. {@link ApiDocsSource} serving API documents generated at build time by
+ * {@link ApiDocsExporter}, one "&lt;group&gt;.json" per group under the given classpath location.
+ * Nothing is scanned by springfox in this mode.
+ */
+@Slf4j
+public class ClasspathApiDocsSource implements ApiDocsSource {
+
+    public static final String DEFAULT_LOCATION = "META-INF/swagger";
+    public static final String FILE_EXTENSION = ".json";
+
+    private final Map<String, Resource> resources;
+
+    public ClasspathApiDocsSource(ClassLoader classLoader, String location) {
+        this.resources = Collections.unmodifiableMap(findResources(new PathMatchingResourcePatternResolver(classLoader), location));
+        log.info("Serving API docs groups {} from classpath:{}", resources.keySet(), location);
+    }
+
+    @Override
+    public Set<String> groupNames() {
+        return resources.keySet();
+    }
+
+    @Override
+    public Object version(String group) {
+        return resources.get(group);
+    }
+
+    @Override
+    public ApiDocs render(String group, Object version) {
+        try (InputStream in = ((Resource) version).getInputStream()) {
+            return ApiDocs.of(StreamUtils.copyToByteArray(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Resource> findResources(ResourcePatternResolver resolver, String location) {
+        String pattern = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+                + StringUtils.trimTrailingCharacter(location, '/') + "/*" + FILE_EXTENSION;
+        Map<String, Resource> found = new LinkedHashMap<>();
+        try {
+            for (Resource resource : resolver.getResources(pattern)) {
+                String filename = resource.getFilename();
+                if (filename != null) {
+                    found.putIfAbsent(filename.substring(0, filename.length() - FILE_EXTENSION.length()), resource);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.models.Swagger;
+import lombok.extern.slf4j.Slf4j;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DocumentationApiDocsSource. {@link ApiDocsSource} backed by springfox's {@link DocumentationCache}.
+ * The version of a group is its {@link Documentation} instance, which springfox replaces whenever
+ * the Docket is documented again.
+ */
+@Slf4j
+public class DocumentationApiDocsSource implements ApiDocsSource {
+
+    private final DocumentationCache documentationCache;
+    private final ServiceModelToSwagger2Mapper mapper;
+    private final ObjectMapper objectMapper;
+
+    public DocumentationApiDocsSource(DocumentationCache documentationCache,
+                                      ServiceModelToSwagger2Mapper mapper,
+                                      ObjectMapper objectMapper) {
+        this.documentationCache = documentationCache;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Same ObjectMapper setup as springfox's own JsonSerializer, so rendered bytes are identical
+     *
+     * @param jsonFactory the factory of the target data format
+     * @param jacksonModuleRegistrars springfox's registered Jackson modules
+     * @return configured ObjectMapper
+     */
+    public static ObjectMapper swaggerObjectMapper(JsonFactory jsonFactory, List<JacksonModuleRegistrar> jacksonModuleRegistrars) {
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        jacksonModuleRegistrars.forEach(registrar -> registrar.maybeRegisterModule(objectMapper));
+        return objectMapper;
+    }
+
+    @Override
+    public Set<String> groupNames() {
+        return documentationCache.all().keySet();
+    }
+
+    @Override
+    public Object version(String group) {
+        return documentationCache.documentationByGroup(group);
+    }
+
+    @Override
+    public ApiDocs render(String group, Object version) {
+        Documentation documentation = (Documentation) version;
+        long start = System.nanoTime();
+        Swagger swagger = mapper.mapDocumentation(documentation);
+        try {
+            ApiDocs docs = ApiDocs.of(objectMapper.writeValueAsBytes(swagger));
+            log.debug("Rendered API docs group [{}] ({} bytes) in {} ms",
+                    group, docs.getSize(), (System.nanoTime() - start) / 1_000_000);
+            return docs;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
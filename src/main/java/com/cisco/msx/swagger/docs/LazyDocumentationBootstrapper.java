@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LazyDocumentationBootstrapper. Runs springfox's {@link DocumentationPluginsBootstrapper} off the startup
+ * path, on a background thread once the application is ready or when the first documentation request
+ * comes in, whichever happens first.
+ *
+ * All callers share a single bootstrap; a failed bootstrap is retried by the next caller.
+ */
+@Slf4j
+public class LazyDocumentationBootstrapper implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private final DocumentationPluginsBootstrapper documentationPluginsBootstrapper;
+    private final ExecutorService executor;
+    private final AtomicReference<CompletableFuture<Void>> bootstrap = new AtomicReference<>();
+
+    public LazyDocumentationBootstrapper(DocumentationPluginsBootstrapper documentationPluginsBootstrapper) {
+        this.documentationPluginsBootstrapper = documentationPluginsBootstrapper;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("swagger-bootstrap-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        bootstrap();
+    }
+
+    /**
+     * Start documenting all Dockets unless already started
+     *
+     * @return future completed once documentation is available
+     */
+    public CompletableFuture<Void> bootstrap() {
+        CompletableFuture<Void> current = bootstrap.get();
+        if (current != null) {
+            return current;
+        }
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        if (!bootstrap.compareAndSet(null, started)) {
+            return bootstrap.get();
+        }
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                documentationPluginsBootstrapper.start();
+                log.info("Documented API in {} ms", (System.nanoTime() - start) / 1_000_000);
+                started.complete(null);
+            } catch (RuntimeException | Error e) {
+                log.error("Failed to document API", e);
+                bootstrap.compareAndSet(started, null);
+                started.completeExceptionally(e);
+            }
+        });
+        return started;
+    }
+
+    public boolean isBootstrapped() {
+        CompletableFuture<Void> current = bootstrap.get();
+        return current != null && current.isDone() && !current.isCompletedExceptionally();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LazyDocumentationFilter. Triggers the lazy documentation bootstrap on requests of documentation
+ * endpoints and holds them until documentation is available, so the first caller gets the same answer
+ * as with eager bootstrap. Requests of the UI page only trigger the bootstrap, the UI's follow-up
+ * requests wait for it.
+ *
+ * With an {@link ApiDocsExecutor}, waiting requests are put in async mode and dispatched again once
+ * documentation is available, instead of holding their request thread.
+ */
+@Slf4j
+public class LazyDocumentationFilter extends OncePerRequestFilter {
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final LazyDocumentationBootstrapper bootstrapper;
+    private final Set<String> triggerOnlyPaths;
+    private final ApiDocsExecutor executor;
+
+    public LazyDocumentationFilter(LazyDocumentationBootstrapper bootstrapper, Set<String> triggerOnlyPaths) {
+        this(bootstrapper, triggerOnlyPaths, null);
+    }
+
+    /**
+     * @param bootstrapper the lazy bootstrapper
+     * @param triggerOnlyPaths paths only triggering documentation
+     * @param executor asynchronous documentation settings, null to wait on the request thread
+     */
+    public LazyDocumentationFilter(LazyDocumentationBootstrapper bootstrapper, Set<String> triggerOnlyPaths,
+                                   ApiDocsExecutor executor) {
+        this.bootstrapper = bootstrapper;
+        this.triggerOnlyPaths = triggerOnlyPaths;
+        this.executor = executor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (triggerOnlyPaths.contains(URL_PATH_HELPER.getPathWithinApplication(request))) {
+            bootstrapper.bootstrap();
+        } else if (!bootstrapper.isBootstrapped() && executor != null && request.isAsyncSupported()) {
+            awaitAsync(request, response);
+            return;
+        } else if (!bootstrapper.isBootstrapped()) {
+            try {
+                bootstrapper.bootstrap().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while documenting API", e);
+            } catch (ExecutionException e) {
+                throw new ServletException("Failed to document API", e.getCause());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The async dispatch goes down the chain again, past this filter, once documentation is available
+     */
+    protected void awaitAsync(HttpServletRequest request, HttpServletResponse response) {
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(executor.getTimeout().toMillis());
+        AtomicBoolean answered = new AtomicBoolean();
+        asyncContext.addListener(new AsyncTimeoutListener(answered));
+        bootstrapper.bootstrap().whenComplete((ignored, error) -> {
+            if (!answered.compareAndSet(false, true)) {
+                return;
+            }
+            if (error == null) {
+                asyncContext.dispatch();
+                return;
+            }
+            try {
+                log.warn("Failed to document API", error);
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to answer documentation request: {}", e.toString());
+            }
+            asyncContext.complete();
+        });
+    }
+}
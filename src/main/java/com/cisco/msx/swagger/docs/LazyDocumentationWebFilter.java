@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * LazyDocumentationWebFilter. Reactive counterpart of {@link LazyDocumentationFilter}: requests of documentation
+ * endpoints trigger the lazy documentation bootstrap and continue once documentation is available, without
+ * holding a thread while waiting. Requests of the UI page only trigger the bootstrap.
+ */
+public class LazyDocumentationWebFilter implements WebFilter {
+
+    private final LazyDocumentationBootstrapper bootstrapper;
+    private final Set<String> paths;
+    private final Set<String> pathPrefixes;
+    private final Set<String> triggerOnlyPaths;
+
+    /**
+     * @param bootstrapper the lazy bootstrapper
+     * @param paths documentation paths waiting for documentation
+     * @param pathPrefixes prefixes of documentation paths waiting for documentation
+     * @param triggerOnlyPaths paths only triggering documentation
+     */
+    public LazyDocumentationWebFilter(LazyDocumentationBootstrapper bootstrapper, Set<String> paths,
+                                      Set<String> pathPrefixes, Set<String> triggerOnlyPaths) {
+        this.bootstrapper = bootstrapper;
+        this.paths = paths;
+        this.pathPrefixes = pathPrefixes;
+        this.triggerOnlyPaths = triggerOnlyPaths;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (triggerOnlyPaths.contains(path)) {
+            bootstrapper.bootstrap();
+        } else if (!bootstrapper.isBootstrapped() && isDocumentationPath(path)) {
+            return Mono.fromFuture(bootstrapper.bootstrap()).then(Mono.defer(() -> chain.filter(exchange)));
+        }
+        return chain.filter(exchange);
+    }
+
+    private boolean isDocumentationPath(String path) {
+        return paths.contains(path) || pathPrefixes.stream().anyMatch(path::startsWith);
+    }
+}
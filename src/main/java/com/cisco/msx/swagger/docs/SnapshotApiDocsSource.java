@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * SnapshotApiDocsSource. {@link ApiDocsSource} serving the groups restored from an {@link ApiDocsSnapshot},
+ * and the delegate's groups whenever the snapshot was not restored.
+ */
+public class SnapshotApiDocsSource implements ApiDocsSource {
+
+    private final ApiDocsSource delegate;
+    private final ApiDocsSnapshot snapshot;
+
+    public SnapshotApiDocsSource(ApiDocsSource delegate, ApiDocsSnapshot snapshot) {
+        this.delegate = delegate;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public Set<String> groupNames() {
+        return snapshot.isRestored() ? snapshot.getRestored().keySet() : delegate.groupNames();
+    }
+
+    @Override
+    public Object version(String group) {
+        return snapshot.isRestored() ? snapshot.getRestored().get(group) : delegate.version(group);
+    }
+
+    @Override
+    public ApiDocs render(String group, Object version) {
+        return version instanceof Path ? snapshot.read((Path) version) : delegate.render(group, version);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.ClassUtils;
+import springfox.documentation.RequestHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * ApiIndex. Documented controllers, their request mapping methods and the model types they use, as recorded
+ * at compile time by {@link ApiIndexProcessor} into "META-INF/msx-swagger.index".
+ *
+ * Like spring-context-indexer's index, it's all or nothing: once any index is on the classpath, only indexed
+ * controllers are documented by the default request handler selector.
+ */
+@Slf4j
+public final class ApiIndex {
+
+    public static final String LOCATION = "META-INF/msx-swagger.index";
+
+    static final String CONTROLLER = "controller";
+    static final String OPERATION = "operation";
+    static final String MODEL = "model";
+    static final char METHOD_SEPARATOR = '#';
+
+    private final Set<String> controllers = new HashSet<>();
+    private final Set<String> operations = new HashSet<>();
+    private final Set<String> models = new HashSet<>();
+
+    ApiIndex(Properties entries) {
+        entries.stringPropertyNames().forEach(name -> {
+            String kind = entries.getProperty(name);
+            if (CONTROLLER.equals(kind)) {
+                controllers.add(name);
+            } else if (OPERATION.equals(kind)) {
+                operations.add(name);
+            } else if (MODEL.equals(kind)) {
+                models.add(name);
+            }
+        });
+    }
+
+    /**
+     * Load and merge all indexes on the classpath
+     *
+     * @param classLoader class loader to search
+     * @return the merged index, or null if there is none
+     */
+    public static ApiIndex load(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader()).getResources(LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+            Properties entries = new Properties();
+            while (urls.hasMoreElements()) {
+                entries.putAll(PropertiesLoaderUtils.loadProperties(new UrlResource(urls.nextElement())));
+            }
+            ApiIndex index = new ApiIndex(entries);
+            log.info("Using API index with {} controllers and {} operations", index.controllers.size(), index.operations.size());
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + LOCATION, e);
+        }
+    }
+
+    public boolean isDocumented(RequestHandler requestHandler) {
+        String type = ClassUtils.getUserClass(requestHandler.declaringClass()).getName();
+        return controllers.contains(type) && operations.contains(type + METHOD_SEPARATOR + requestHandler.getName());
+    }
+
+    /**
+     * @return selector of indexed request handlers, in place of springfox's reflective default selector
+     */
+    public Predicate<RequestHandler> requestHandlerSelector() {
+        return this::isDocumented;
+    }
+
+    public Set<String> getControllers() {
+        return Collections.unmodifiableSet(controllers);
+    }
+
+    public Set<String> getOperations() {
+        return Collections.unmodifiableSet(operations);
+    }
+
+    /**
+     * @return model types used by request bodies and return values of indexed operations
+     */
+    public Set<String> getModels() {
+        return Collections.unmodifiableSet(models);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * ApiIndexProcessor. Annotation processor writing the {@link ApiIndex} of the compiled sources: every
+ * controller (any class meta-annotated with @Controller) not annotated with @ApiIgnore, its request mapping
+ * methods not annotated with @ApiIgnore, and the model types of their request bodies and return values.
+ * Like Spring MVC, mapping, @ApiIgnore and @RequestBody annotations are also found on the methods a controller
+ * method overrides, in superclasses and interfaces.
+ *
+ * Not registered as a service, so it only runs when configured explicitly, e.g. with maven-compiler-plugin:
+ * <pre>{@code
+ * <annotationProcessors>
+ *     <annotationProcessor>com.cisco.msx.swagger.index.ApiIndexProcessor</annotationProcessor>
+ * </annotationProcessors>
+ * }</pre>
+ *
+ * Entries of a previous index whose classes are not part of an incremental compilation are kept.
+ */
+@SupportedAnnotationTypes("*")
+public class ApiIndexProcessor extends AbstractProcessor {
+
+    static final String CONTROLLER_ANNOTATION = "org.springframework.stereotype.Controller";
+    static final String REQUEST_MAPPING_ANNOTATION = "org.springframework.web.bind.annotation.RequestMapping";
+    static final String REQUEST_BODY_ANNOTATION = "org.springframework.web.bind.annotation.RequestBody";
+    static final String API_IGNORE_ANNOTATION = "springfox.documentation.annotations.ApiIgnore";
+
+    private static final String[] FRAMEWORK_PACKAGES = {"java.", "javax.", "org.springframework.", "reactor."};
+
+    private final Map<String, String> entries = new TreeMap<>();
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            index(type);
+        }
+        if (roundEnv.processingOver()) {
+            write();
+        }
+        return false;
+    }
+
+    private void index(TypeElement type) {
+        String typeName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        processedTypes.add(typeName);
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(this::index);
+
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !isAnnotated(type, CONTROLLER_ANNOTATION, new HashSet<>())
+                || isAnnotated(type, API_IGNORE_ANNOTATION, new HashSet<>())) {
+            return;
+        }
+
+        boolean documented = false;
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT) || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            List<ExecutableElement> declarations = declarations(type, method);
+            if (isAnnotated(declarations, REQUEST_MAPPING_ANNOTATION)
+                    && !isAnnotated(declarations, API_IGNORE_ANNOTATION)) {
+                entries.put(typeName + ApiIndex.METHOD_SEPARATOR + method.getSimpleName(), ApiIndex.OPERATION);
+                addModel(method.getReturnType());
+                for (int i = 0; i < method.getParameters().size(); i++) {
+                    if (isParameterAnnotated(declarations, i, REQUEST_BODY_ANNOTATION)) {
+                        addModel(method.getParameters().get(i).asType());
+                    }
+                }
+                documented = true;
+            }
+        }
+        if (documented) {
+            entries.put(typeName, ApiIndex.CONTROLLER);
+        }
+    }
+
+    /**
+     * The method and every method it overrides in superclasses and interfaces of the controller, where Spring
+     * MVC finds mapping annotations as well (see AnnotatedElementUtils.findMergedAnnotation)
+     */
+    private List<ExecutableElement> declarations(TypeElement type, ExecutableElement method) {
+        List<ExecutableElement> declarations = new ArrayList<>();
+        declarations.add(method);
+        Set<String> visited = new HashSet<>();
+        Deque<TypeMirror> supertypes = new ArrayDeque<>(processingEnv.getTypeUtils().directSupertypes(type.asType()));
+        while (!supertypes.isEmpty()) {
+            TypeMirror supertype = supertypes.poll();
+            if (supertype.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            TypeElement element = (TypeElement) ((DeclaredType) supertype).asElement();
+            if (!visited.add(element.getQualifiedName().toString())) {
+                continue;
+            }
+            for (ExecutableElement candidate : ElementFilter.methodsIn(element.getEnclosedElements())) {
+                if (candidate != method && candidate.getSimpleName().equals(method.getSimpleName())
+                        && processingEnv.getElementUtils().overrides(method, candidate, type)) {
+                    declarations.add(candidate);
+                }
+            }
+            supertypes.addAll(processingEnv.getTypeUtils().directSupertypes(supertype));
+        }
+        return declarations;
+    }
+
+    private boolean isAnnotated(List<ExecutableElement> declarations, String annotation) {
+        for (ExecutableElement declaration : declarations) {
+            if (isAnnotated(declaration, annotation, new HashSet<>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isParameterAnnotated(List<ExecutableElement> declarations, int index, String annotation) {
+        for (ExecutableElement declaration : declarations) {
+            if (isAnnotated(declaration.getParameters().get(index), annotation, new HashSet<>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Direct or meta annotation, the way Spring finds composed annotations like @RestController or @GetMapping
+     */
+    private boolean isAnnotated(Element element, String annotation, Set<String> visited) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            String name = annotationType.getQualifiedName().toString();
+            if (name.equals(annotation)) {
+                return true;
+            }
+            if (!name.startsWith("java.lang.annotation.") && visited.add(name)
+                    && isAnnotated(annotationType, annotation, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addModel(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            addModel(((ArrayType) type).getComponentType());
+            return;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        TypeElement element = (TypeElement) declaredType.asElement();
+        String name = processingEnv.getElementUtils().getBinaryName(element).toString();
+        if (!isFrameworkType(name) && entries.putIfAbsent(name, ApiIndex.MODEL) != null) {
+            return;
+        }
+        declaredType.getTypeArguments().forEach(this::addModel);
+    }
+
+    private static boolean isFrameworkType(String name) {
+        for (String prefix : FRAMEWORK_PACKAGES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void write() {
+        Map<String, String> merged = new TreeMap<>(previousEntries());
+        merged.putAll(entries);
+        if (merged.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ApiIndex.LOCATION);
+            try (OutputStream out = file.openOutputStream();
+                 Writer writer = new OutputStreamWriter(out, StandardCharsets.ISO_8859_1)) {
+                for (Map.Entry<String, String> entry : merged.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + ApiIndex.LOCATION + ": " + e);
+        }
+    }
+
+    /**
+     * @return entries of an existing index of classes that still exist but weren't compiled in this run
+     */
+    private Map<String, String> previousEntries() {
+        Map<String, String> previous = new TreeMap<>();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", ApiIndex.LOCATION);
+            Properties properties = new Properties();
+            try (InputStream in = file.openInputStream()) {
+                properties.load(in);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                int separator = name.indexOf(ApiIndex.METHOD_SEPARATOR);
+                String typeName = separator < 0 ? name : name.substring(0, separator);
+                if (!processedTypes.contains(typeName)
+                        && processingEnv.getElementUtils().getTypeElement(typeName.replace('$', '.')) != null) {
+                    previous.put(name, properties.getProperty(name));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous index
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.metrics;
+
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.cisco.msx.swagger.schema.IndexedAlternateTypeRule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.ClassUtils;
+import springfox.documentation.service.ApiDescription;
+import springfox.documentation.service.ApiListing;
+import springfox.documentation.service.Documentation;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MicrometerSwaggerMetrics. Records into a Micrometer {@link MeterRegistry}:
+ * <ul>
+ *     <li>"msx.swagger.configurer": timer per configurer class and hook</li>
+ *     <li>"msx.swagger.phase": timer per documentation phase and group</li>
+ *     <li>"msx.swagger.paths", "msx.swagger.operations", "msx.swagger.models": gauges per group</li>
+ *     <li>"msx.swagger.requests": timer of documentation requests per endpoint and status</li>
+ *     <li>"msx.swagger.response.bytes": response size per documentation endpoint</li>
+ *     <li>"msx.swagger.requests.rejected": counter of requests exceeding the limits per endpoint and reason</li>
+ *     <li>"msx.swagger.alternate.types": alternate type cache hits and misses per group and rule order</li>
+ * </ul>
+ */
+public class MicrometerSwaggerMetrics implements SwaggerMetrics {
+
+    public static final String CONFIGURER_TIMER = "msx.swagger.configurer";
+    public static final String PHASE_TIMER = "msx.swagger.phase";
+    public static final String PATHS_GAUGE = "msx.swagger.paths";
+    public static final String OPERATIONS_GAUGE = "msx.swagger.operations";
+    public static final String MODELS_GAUGE = "msx.swagger.models";
+    public static final String REQUESTS_TIMER = "msx.swagger.requests";
+    public static final String RESPONSE_BYTES_SUMMARY = "msx.swagger.response.bytes";
+    public static final String REJECTED_COUNTER = "msx.swagger.requests.rejected";
+    public static final String ALTERNATE_TYPES_COUNTER = "msx.swagger.alternate.types";
+
+    private static final String UNKNOWN_GROUP = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    public MicrometerSwaggerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void recordConfigurer(String hook, SwaggerConfigurer configurer, long durationNanos) {
+        Timer.builder(CONFIGURER_TIMER)
+                .description("Time spent in SwaggerConfigurer hooks while building Dockets")
+                .tags("configurer", ClassUtils.getUserClass(configurer).getName(), "hook", hook)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordPhase(String phase, String group, long durationNanos) {
+        Timer.builder(PHASE_TIMER)
+                .description("Time spent in springfox documentation phases")
+                .tags("phase", phase, "group", group == null ? UNKNOWN_GROUP : group)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDocumentation(Documentation documentation) {
+        Set<String> paths = new HashSet<>();
+        Set<String> models = new HashSet<>();
+        int operations = 0;
+        for (List<ApiListing> listings : documentation.getApiListings().values()) {
+            for (ApiListing listing : listings) {
+                for (ApiDescription api : listing.getApis()) {
+                    paths.add(api.getPath());
+                    operations += api.getOperations().size();
+                }
+                models.addAll(listing.getModels().keySet());
+            }
+        }
+        String group = documentation.getGroupName();
+        count(PATHS_GAUGE, group).set(paths.size());
+        count(OPERATIONS_GAUGE, group).set(operations);
+        count(MODELS_GAUGE, group).set(models.size());
+    }
+
+    @Override
+    public void recordRequest(String endpoint, int status, long durationNanos, long bytes) {
+        Timer.builder(REQUESTS_TIMER)
+                .description("Documentation endpoint requests")
+                .tags("endpoint", endpoint, "status", String.valueOf(status))
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(RESPONSE_BYTES_SUMMARY)
+                .description("Documentation endpoint response sizes")
+                .baseUnit("bytes")
+                .tags("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    @Override
+    public void recordRejection(String endpoint, String reason) {
+        Counter.builder(REJECTED_COUNTER)
+                .description("Documentation endpoint requests exceeding the configured limits")
+                .tags("endpoint", endpoint, "reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void monitorAlternateTypes(String group, IndexedAlternateTypeRule rule) {
+        Tags tags = Tags.of("group", group, "order", String.valueOf(rule.getOrder()));
+        FunctionCounter.builder(ALTERNATE_TYPES_COUNTER, rule, IndexedAlternateTypeRule::getHits)
+                .description("Alternate type resolutions")
+                .tags(tags.and("result", "hit"))
+                .register(meterRegistry);
+        FunctionCounter.builder(ALTERNATE_TYPES_COUNTER, rule, IndexedAlternateTypeRule::getMisses)
+                .description("Alternate type resolutions")
+                .tags(tags.and("result", "miss"))
+                .register(meterRegistry);
+    }
+
+    private AtomicInteger count(String name, String group) {
+        return counts.computeIfAbsent(name + ":" + group,
+                key -> meterRegistry.gauge(name, Tags.of("group", group), new AtomicInteger()));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.metrics;
+
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.cisco.msx.swagger.schema.IndexedAlternateTypeRule;
+import springfox.documentation.service.Documentation;
+
+/**
+ * SwaggerMetrics. Receives timings of the Docket pipeline and springfox's documentation phases.
+ * Kept free of any metrics library types, so the Docket configuration doesn't depend on one.
+ */
+public interface SwaggerMetrics {
+
+    String PHASE_HANDLERS = "handlers";
+    String PHASE_SCAN = "scan";
+    String PHASE_MODELS = "models";
+    String PHASE_MAPPING = "mapping";
+    String PHASE_SERIALIZATION = "serialization";
+    String PHASE_RENDER = "render";
+
+    SwaggerMetrics NONE = new SwaggerMetrics() {
+        @Override
+        public void recordConfigurer(String hook, SwaggerConfigurer configurer, long durationNanos) {
+            // not recorded
+        }
+
+        @Override
+        public void recordPhase(String phase, String group, long durationNanos) {
+            // not recorded
+        }
+
+        @Override
+        public void recordDocumentation(Documentation documentation) {
+            // not recorded
+        }
+
+        @Override
+        public void recordRequest(String endpoint, int status, long durationNanos, long bytes) {
+            // not recorded
+        }
+
+        @Override
+        public void recordRejection(String endpoint, String reason) {
+            // not recorded
+        }
+
+        @Override
+        public void monitorAlternateTypes(String group, IndexedAlternateTypeRule rule) {
+            // not recorded
+        }
+    };
+
+    /**
+     * @param hook name of the {@link SwaggerConfigurer} method, e.g. "configureApiInfo"
+     * @param configurer the configurer
+     * @param durationNanos duration of the call
+     */
+    void recordConfigurer(String hook, SwaggerConfigurer configurer, long durationNanos);
+
+    /**
+     * @param phase one of the PHASE_* constants
+     * @param group Docket group name, null if not known
+     * @param durationNanos duration of the phase
+     */
+    void recordPhase(String phase, String group, long durationNanos);
+
+    /**
+     * @param documentation a freshly scanned group, to record its counts of paths, operations and models
+     */
+    void recordDocumentation(Documentation documentation);
+
+    /**
+     * @param endpoint documentation endpoint, e.g. "api-docs"
+     * @param status response status
+     * @param durationNanos duration of the request
+     * @param bytes response body bytes written
+     */
+    void recordRequest(String endpoint, int status, long durationNanos, long bytes);
+
+    /**
+     * @param endpoint documentation endpoint, e.g. "api-docs"
+     * @param reason the exceeded limit, e.g. "rate"
+     */
+    void recordRejection(String endpoint, String reason);
+
+    /**
+     * @param group Docket group name
+     * @param rule indexed alternate type rule whose cache hits and misses should be monitored
+     */
+    void monitorAlternateTypes(String group, IndexedAlternateTypeRule rule);
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.metrics;
+
+import com.cisco.msx.swagger.docs.ApiDocsSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spi.service.contexts.DocumentationContext;
+import springfox.documentation.spi.service.contexts.RequestMappingContext;
+
+import java.util.Map;
+
+/**
+ * SwaggerMetricsPostProcessor. Proxies springfox's components to time each documentation phase:
+ * <ul>
+ *     <li>handlers: request handler scan of each {@link RequestHandlerProvider}</li>
+ *     <li>scan: documentation of a whole group; the resulting counts are recorded as well</li>
+ *     <li>models: model inference of each request mapping</li>
+ *     <li>mapping: mapping of a group to the Swagger 2 model</li>
+ *     <li>serialization: JSON serialization by springfox</li>
+ *     <li>render: mapping and serialization of pre-rendered API docs</li>
+ * </ul>
+ *
+ * springfox's internal components are matched by class name, so a springfox version without one of them
+ * just isn't timed for that phase.
+ *
+ * Runs before other post processors, so only the actual work is timed, not e.g. cached handler scans.
+ */
+public class SwaggerMetricsPostProcessor implements BeanPostProcessor, Ordered {
+
+    private static final Map<String, String[]> SPRINGFOX_PHASES = Map.of(
+            "springfox.documentation.spring.web.scanners.ApiDocumentationScanner",
+            new String[] {SwaggerMetrics.PHASE_SCAN, "scan"},
+            "springfox.documentation.spring.web.scanners.ApiModelReader",
+            new String[] {SwaggerMetrics.PHASE_MODELS, "read"},
+            "springfox.documentation.spring.web.scanners.ApiModelSpecificationReader",
+            new String[] {SwaggerMetrics.PHASE_MODELS, "read"},
+            "springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper",
+            new String[] {SwaggerMetrics.PHASE_MAPPING, "mapDocumentation"},
+            "springfox.documentation.spring.web.json.JsonSerializer",
+            new String[] {SwaggerMetrics.PHASE_SERIALIZATION, "toJson"});
+
+    private final ObjectProvider<SwaggerMetrics> swaggerMetrics;
+
+    public SwaggerMetricsPostProcessor(ObjectProvider<SwaggerMetrics> swaggerMetrics) {
+        this.swaggerMetrics = swaggerMetrics;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RequestHandlerProvider) {
+            return timed(bean, SwaggerMetrics.PHASE_HANDLERS, "requestHandlers", false);
+        }
+        if (bean instanceof ApiDocsSource) {
+            return timed(bean, SwaggerMetrics.PHASE_RENDER, "render", false);
+        }
+        String[] phase = springfoxPhase(AopUtils.getTargetClass(bean));
+        if (phase != null) {
+            return timed(bean, phase[0], phase[1], true);
+        }
+        return bean;
+    }
+
+    private static String[] springfoxPhase(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            String[] phase = SPRINGFOX_PHASES.get(current.getName());
+            if (phase != null) {
+                return phase;
+            }
+        }
+        return null;
+    }
+
+    private Object timed(Object bean, String phase, String methodName, boolean proxyTargetClass) {
+        MethodInterceptor interceptor = invocation -> {
+            long start = System.nanoTime();
+            Object result = invocation.proceed();
+            SwaggerMetrics metrics = swaggerMetrics.getIfAvailable(() -> SwaggerMetrics.NONE);
+            metrics.recordPhase(phase, groupOf(invocation.getArguments()), System.nanoTime() - start);
+            if (result instanceof Documentation) {
+                metrics.recordDocumentation((Documentation) result);
+            }
+            return result;
+        };
+        NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(interceptor);
+        advisor.setMappedName(methodName);
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(proxyTargetClass);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private static String groupOf(Object[] arguments) {
+        if (arguments.length == 0) {
+            return null;
+        }
+        Object argument = arguments[0];
+        if (argument instanceof String) {
+            return (String) argument;
+        } else if (argument instanceof DocumentationContext) {
+            return ((DocumentationContext) argument).getGroupName();
+        } else if (argument instanceof RequestMappingContext) {
+            return ((RequestMappingContext) argument).getGroupName();
+        } else if (argument instanceof Documentation) {
+            return ((Documentation) argument).getGroupName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.plugins;
+
+import springfox.documentation.RequestHandler;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+
+import java.util.List;
+
+/**
+ * CachingRequestHandlerProvider. springfox asks every {@link RequestHandlerProvider} for all request handlers
+ * once per Docket, i.e. the handler mappings are scanned again for every group. This wrapper scans once and
+ * shares the result between all groups.
+ *
+ * Handlers registered after the first scan are only picked up after {@link #reset()}.
+ */
+public class CachingRequestHandlerProvider implements RequestHandlerProvider {
+
+    private final RequestHandlerProvider delegate;
+    private volatile List<RequestHandler> requestHandlers;
+
+    public CachingRequestHandlerProvider(RequestHandlerProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<RequestHandler> requestHandlers() {
+        List<RequestHandler> handlers = requestHandlers;
+        if (handlers == null) {
+            synchronized (this) {
+                handlers = requestHandlers;
+                if (handlers == null) {
+                    handlers = List.copyOf(delegate.requestHandlers());
+                    requestHandlers = handlers;
+                }
+            }
+        }
+        return handlers;
+    }
+
+    public void reset() {
+        requestHandlers = null;
+    }
+
+    public RequestHandlerProvider getDelegate() {
+        return delegate;
+    }
+}
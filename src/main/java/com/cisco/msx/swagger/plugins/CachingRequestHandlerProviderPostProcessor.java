@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.plugins;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+
+/**
+ * Wraps every {@link RequestHandlerProvider} bean into a {@link CachingRequestHandlerProvider},
+ * so all Docket groups share a single handler scan.
+ */
+public class CachingRequestHandlerProviderPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RequestHandlerProvider && !(bean instanceof CachingRequestHandlerProvider)) {
+            return new CachingRequestHandlerProvider((RequestHandlerProvider) bean);
+        }
+        return bean;
+    }
+}
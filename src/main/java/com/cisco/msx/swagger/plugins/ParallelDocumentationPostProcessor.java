@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.plugins;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ReflectionUtils;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spi.service.DocumentationPlugin;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spi.service.contexts.DocumentationContext;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsManager;
+import springfox.documentation.spring.web.scanners.ApiDocumentationScanner;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ParallelDocumentationPostProcessor. springfox documents the Dockets one after the other in
+ * {@link DocumentationPluginsBootstrapper#start()}. With several groups and more than one thread (opt-in, see
+ * "swagger.bootstrapParallel"), their documentation is scanned concurrently on a bounded executor instead:
+ * <ul>
+ *     <li>the bootstrapper's start is intercepted to build each enabled Docket's context, the same way springfox
+ *     does, and submit its scan</li>
+ *     <li>the {@link ApiDocumentationScanner} is proxied, so springfox's own loop picks up the scanned documentation
+ *     instead of scanning again. springfox still adds it to its DocumentationCache one group at a time, on the
+ *     bootstrapping thread, so the cache is never written concurrently</li>
+ * </ul>
+ *
+ * Once documentation completes the shared request handler scan (see {@link CachingRequestHandlerProvider}) is reset,
+ * so it isn't kept for the lifetime of the application.
+ */
+@Slf4j
+public class ParallelDocumentationPostProcessor implements BeanPostProcessor {
+
+    private final int threads;
+    private final ObjectProvider<DocumentationPluginsManager> documentationPluginsManager;
+    private final ObjectProvider<RequestHandlerProvider> requestHandlerProviders;
+
+    private volatile ApiDocumentationScanner scanner;
+    private volatile Method buildContext;
+    private final Map<String, CompletableFuture<Documentation>> scans = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads max number of Dockets scanned concurrently, 1 to leave documentation to springfox
+     * @param documentationPluginsManager source of the Dockets
+     * @param requestHandlerProviders providers whose cached scan is reset after documentation
+     */
+    public ParallelDocumentationPostProcessor(int threads,
+                                              ObjectProvider<DocumentationPluginsManager> documentationPluginsManager,
+                                              ObjectProvider<RequestHandlerProvider> requestHandlerProviders) {
+        this.threads = threads;
+        this.documentationPluginsManager = documentationPluginsManager;
+        this.requestHandlerProviders = requestHandlerProviders;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ApiDocumentationScanner) {
+            // parallel scans go to the scanner as it is, e.g. timed by the metrics post processor
+            scanner = (ApiDocumentationScanner) bean;
+            return intercepted(bean, "scan", this::scanned);
+        }
+        if (bean instanceof DocumentationPluginsBootstrapper) {
+            if (threads > 1) {
+                buildContext = buildContextMethod(bean.getClass());
+            }
+            return intercepted(bean, "start", this::bootstrap);
+        }
+        return bean;
+    }
+
+    protected Object bootstrap(MethodInvocation invocation) throws Throwable {
+        try {
+            if (threads > 1 && scanner != null) {
+                return scanConcurrently(invocation);
+            }
+            return invocation.proceed();
+        } finally {
+            requestHandlerProviders.orderedStream()
+                    .filter(CachingRequestHandlerProvider.class::isInstance)
+                    .forEach(provider -> ((CachingRequestHandlerProvider) provider).reset());
+        }
+    }
+
+    /**
+     * springfox's internal hook building a Docket's context, checked at startup so an incompatible springfox
+     * version fails right away
+     */
+    static Method buildContextMethod(Class<?> bootstrapperClass) {
+        Method method = ReflectionUtils.findMethod(bootstrapperClass, "buildContext", DocumentationPlugin.class);
+        if (method == null || !DocumentationContext.class.isAssignableFrom(method.getReturnType())) {
+            throw new IllegalStateException("Parallel documentation needs springfox's "
+                    + "AbstractDocumentationPluginsBootstrapper.buildContext(DocumentationPlugin), which "
+                    + bootstrapperClass.getName() + " doesn't provide. Set swagger.bootstrapParallel=false");
+        }
+        ReflectionUtils.makeAccessible(method);
+        return method;
+    }
+
+    private Object scanConcurrently(MethodInvocation invocation) throws Throwable {
+        List<DocumentationPlugin> plugins = new ArrayList<>();
+        for (DocumentationPlugin plugin : documentationPluginsManager.getObject().documentationPlugins()) {
+            if (plugin.isEnabled()) {
+                plugins.add(plugin);
+            }
+        }
+        if (buildContext == null || plugins.size() < 2) {
+            return invocation.proceed();
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("swagger-documentation-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, plugins.size()), threadFactory);
+        try {
+            for (DocumentationPlugin plugin : plugins) {
+                DocumentationContext context = (DocumentationContext) ReflectionUtils.invokeMethod(
+                        buildContext, invocation.getThis(), plugin);
+                scans.put(context.getGroupName(), CompletableFuture.supplyAsync(() -> scanner.scan(context), executor));
+            }
+            log.debug("Documenting {} Dockets on up to {} threads", plugins.size(), Math.min(threads, plugins.size()));
+            return invocation.proceed();
+        } finally {
+            scans.clear();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Documentation scanned concurrently for the context's group, or a regular scan
+     */
+    protected Object scanned(MethodInvocation invocation) throws Throwable {
+        DocumentationContext context = (DocumentationContext) invocation.getArguments()[0];
+        CompletableFuture<Documentation> scan = scans.remove(context.getGroupName());
+        if (scan == null) {
+            return invocation.proceed();
+        }
+        try {
+            return scan.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while documenting group " + context.getGroupName(), e);
+        } catch (ExecutionException e) {
+            // fail the group the same way a serial scan would
+            throw e.getCause();
+        }
+    }
+
+    private static Object intercepted(Object bean, String methodName, MethodInterceptor interceptor) {
+        NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(interceptor);
+        advisor.setMappedName(methodName);
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.publish;
+
+import com.cisco.msx.swagger.docs.ApiDocs;
+import com.cisco.msx.swagger.docs.ApiDocsCache;
+import com.cisco.msx.swagger.docs.LazyDocumentationBootstrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ApiDocsPublisher. Publishes the API docs of every group to an {@link ApiDocsSink} after startup, in background.
+ * A group is published only when its content hash differs from the hash in the sink, so the replicas of a
+ * deployment publish a document once and restarts of unchanged services publish nothing.
+ *
+ * Failures are logged only, publishing is retried by the next call of {@link #publish()}.
+ */
+@Slf4j
+public class ApiDocsPublisher implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private final ApiDocsCache apiDocsCache;
+    private final LazyDocumentationBootstrapper lazyDocumentationBootstrapper;
+    private final ApiDocsSink sink;
+    private final String service;
+    private final ExecutorService executor;
+    private final Map<String, String> published = new ConcurrentHashMap<>();
+
+    /**
+     * @param apiDocsCache the cache rendering the documents
+     * @param lazyDocumentationBootstrapper the lazy bootstrapper to wait for, null if documentation is eager
+     * @param sink the sink to publish to
+     * @param service name the documents are published under
+     */
+    public ApiDocsPublisher(ApiDocsCache apiDocsCache, LazyDocumentationBootstrapper lazyDocumentationBootstrapper,
+                            ApiDocsSink sink, String service) {
+        this.apiDocsCache = apiDocsCache;
+        this.lazyDocumentationBootstrapper = lazyDocumentationBootstrapper;
+        this.sink = sink;
+        this.service = service;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("swagger-publish-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        publishAsync();
+    }
+
+    public CompletableFuture<Void> publishAsync() {
+        CompletableFuture<Void> documented = lazyDocumentationBootstrapper == null
+                ? CompletableFuture.completedFuture(null)
+                : lazyDocumentationBootstrapper.bootstrap();
+        return documented.thenRunAsync(this::publish, executor);
+    }
+
+    /**
+     * Publish all groups with a new hash
+     *
+     * @return number of groups published
+     */
+    public synchronized int publish() {
+        int count = 0;
+        for (String group : apiDocsCache.groupNames()) {
+            if (publishGroup(group)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    protected boolean publishGroup(String group) {
+        try {
+            ApiDocs docs = apiDocsCache.get(group).orElse(null);
+            if (docs == null || docs.getHash().equals(published.get(group))) {
+                return false;
+            }
+            if (docs.getHash().equals(sink.publishedHash(service, group))) {
+                log.debug("API docs group [{}] of [{}] already published with hash {}", group, service, docs.getHash());
+                published.put(group, docs.getHash());
+                return false;
+            }
+            if (!sink.publish(service, group, docs)) {
+                // published meanwhile, by this or another instance, the next call compares again
+                log.debug("API docs group [{}] of [{}] published concurrently, skipped hash {}", group, service, docs.getHash());
+                return false;
+            }
+            published.put(group, docs.getHash());
+            log.info("Published API docs group [{}] of [{}] with hash {}", group, service, docs.getHash());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to publish API docs group [{}] of [{}]", group, service, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.publish;
+
+import com.cisco.msx.swagger.docs.ApiDocs;
+
+import java.io.IOException;
+
+/**
+ * ApiDocsSink. Destination {@link ApiDocsPublisher} publishes each group's API docs to, together with their
+ * content hash. Consumers watch the hash to learn about new documents instead of polling every instance.
+ */
+public interface ApiDocsSink {
+
+    /**
+     * @param service name of the publishing service
+     * @param group name of the group
+     * @return hash of the document last published for the group, by any instance of the service. Null if none
+     * @throws IOException when the sink can't be read
+     */
+    String publishedHash(String service, String group) throws IOException;
+
+    /**
+     * Publish the document and its hash, the hash last, so consumers never see a hash ahead of its document.
+     * Publishing must be atomic against other instances: the hash is only replaced if it is still the one
+     * read before writing the document.
+     *
+     * @param service name of the publishing service
+     * @param group name of the group
+     * @param docs the group's document
+     * @return true if published, false if the hash is already published or another instance published first
+     * @throws IOException when the sink can't be written
+     */
+    boolean publish(String service, String group, ApiDocs docs) throws IOException;
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.publish;
+
+import com.cisco.msx.swagger.docs.ApiDocs;
+import com.ecwid.consul.v1.ConsulClient;
+import com.ecwid.consul.v1.Response;
+import com.ecwid.consul.v1.kv.model.GetValue;
+import com.ecwid.consul.v1.kv.model.PutParams;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * ConsulApiDocsSink. Publishes to Consul's key/value store, the gzip encoded document to
+ * "&lt;prefix&gt;/&lt;service&gt;/&lt;group&gt;/api-docs.json.gz" and its hash to "&lt;prefix&gt;/&lt;service&gt;/&lt;group&gt;/hash".
+ * Consumers watch the hash key with a blocking query. Documents are gzip encoded to stay well below
+ * Consul's 512 KB value limit. Both keys are written with check-and-set against the values read before, so a
+ * replica racing with another one gives up instead of replacing a hash it didn't compare against.
+ */
+public class ConsulApiDocsSink implements ApiDocsSink {
+
+    static final String DOCS_KEY = "api-docs.json.gz";
+    static final String HASH_KEY = "hash";
+
+    private final Supplier<ConsulClient> consulClient;
+    private final String keyPrefix;
+    private final String aclToken;
+
+    /**
+     * @param consulClient the Consul client, resolved when publishing
+     * @param keyPrefix key prefix of all published documents
+     * @param aclToken ACL token with write access to the prefix, null for the agent's default token
+     */
+    public ConsulApiDocsSink(Supplier<ConsulClient> consulClient, String keyPrefix, String aclToken) {
+        this.consulClient = consulClient;
+        this.keyPrefix = keyPrefix;
+        this.aclToken = aclToken;
+    }
+
+    @Override
+    public String publishedHash(String service, String group) {
+        GetValue hash = get(consulClient.get(), key(service, group, HASH_KEY));
+        return hash == null ? null : hash.getDecodedValue();
+    }
+
+    /**
+     * Check-and-set on both keys: the document is written only if it hasn't changed since it was read, and the
+     * hash only if it hasn't changed since it was compared.
+     */
+    @Override
+    public boolean publish(String service, String group, ApiDocs docs) throws IOException {
+        ConsulClient client = consulClient.get();
+        String hashKey = key(service, group, HASH_KEY);
+        String docsKey = key(service, group, DOCS_KEY);
+        GetValue hash = get(client, hashKey);
+        if (hash != null && docs.getHash().equals(hash.getDecodedValue())) {
+            return false;
+        }
+        GetValue current = get(client, docsKey);
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream(docs.getGzipSize());
+        docs.writeTo(gzip, true);
+        if (!put(client.setKVBinaryValue(docsKey, gzip.toByteArray(), aclToken, cas(current)), service, group)) {
+            return false;
+        }
+        return put(client.setKVValue(hashKey, docs.getHash(), aclToken, cas(hash)), service, group);
+    }
+
+    String key(String service, String group, String name) {
+        return keyPrefix + "/" + service + "/" + group + "/" + name;
+    }
+
+    private GetValue get(ConsulClient client, String key) {
+        return client.getKVValue(key, aclToken).getValue();
+    }
+
+    /**
+     * @return params writing only if the key is still at the value's modify index, or still missing
+     */
+    private static PutParams cas(GetValue value) {
+        PutParams params = new PutParams();
+        params.setCas(value == null ? 0L : value.getModifyIndex());
+        return params;
+    }
+
+    private static boolean put(Response<Boolean> response, String service, String group) throws IOException {
+        if (response.getValue() == null) {
+            throw new IOException("Consul rejected API docs of group [" + group + "] of [" + service + "]");
+        }
+        return response.getValue();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.publish;
+
+import com.cisco.msx.swagger.docs.ApiDocs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * DirectoryApiDocsSink. Publishes to a local directory, "&lt;service&gt;/&lt;group&gt;.json" and its hash
+ * "&lt;service&gt;/&lt;group&gt;.sha256". Each file is written to a temporary file first and moved in place.
+ */
+public class DirectoryApiDocsSink implements ApiDocsSink {
+
+    static final String DOCS_EXTENSION = ".json";
+    static final String HASH_EXTENSION = ".sha256";
+    static final String LOCK_EXTENSION = ".lock";
+
+    private final Path directory;
+
+    public DirectoryApiDocsSink(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public String publishedHash(String service, String group) throws IOException {
+        Path hashFile = directory.resolve(service).resolve(group + HASH_EXTENSION);
+        if (!Files.isRegularFile(hashFile)) {
+            return null;
+        }
+        return new String(Files.readAllBytes(hashFile), StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Publishes under a file lock of the group, so instances sharing the directory compare and write one at a time
+     */
+    @Override
+    public boolean publish(String service, String group, ApiDocs docs) throws IOException {
+        Path serviceDirectory = Files.createDirectories(directory.resolve(service));
+        try (FileChannel lockChannel = FileChannel.open(serviceDirectory.resolve(group + LOCK_EXTENSION),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
+            if (docs.getHash().equals(publishedHash(service, group))) {
+                return false;
+            }
+            Path docsFile = Files.createTempFile(serviceDirectory, group, DOCS_EXTENSION);
+            try (OutputStream out = Files.newOutputStream(docsFile)) {
+                docs.writeTo(out, false);
+            }
+            moveInPlace(docsFile, serviceDirectory.resolve(group + DOCS_EXTENSION));
+            Path hashFile = Files.write(Files.createTempFile(serviceDirectory, group, HASH_EXTENSION),
+                    docs.getHash().getBytes(StandardCharsets.UTF_8));
+            moveInPlace(hashFile, serviceDirectory.resolve(group + HASH_EXTENSION));
+            return true;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static void moveInPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+}
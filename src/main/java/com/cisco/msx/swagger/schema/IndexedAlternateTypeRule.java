@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.schema;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+import org.springframework.util.ReflectionUtils;
+import springfox.documentation.schema.AlternateTypeRule;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * IndexedAlternateTypeRule. Single {@link AlternateTypeRule} standing in for all rules of the same order.
+ * springfox checks every rule against every type it meets; this rule only checks the rules whose original
+ * type has the same raw class, and caches the resolved substitution (or the lack of one) per type.
+ *
+ * Among several applicable rules the first registered one wins, as with the flat rule list.
+ * Cache hits and misses are counted, see {@link #getHits()} and {@link #getMisses()}.
+ */
+public class IndexedAlternateTypeRule extends AlternateTypeRule {
+
+    private static final ResolvedType OBJECT_TYPE = new TypeResolver().resolve(Object.class);
+    private static final Field ORIGINAL_FIELD = originalField();
+
+    private final List<AlternateTypeRule> rules;
+    private final Map<Class<?>, List<AlternateTypeRule>> rulesByRawType = new HashMap<>();
+    private final List<AlternateTypeRule> unindexedRules = new ArrayList<>();
+    private final Map<ResolvedType, Optional<ResolvedType>> resolved = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public IndexedAlternateTypeRule(List<AlternateTypeRule> rules, int order) {
+        super(OBJECT_TYPE, OBJECT_TYPE, order);
+        this.rules = List.copyOf(rules);
+        for (AlternateTypeRule rule : this.rules) {
+            ResolvedType original = original(rule);
+            if (original == null) {
+                unindexedRules.add(rule);
+            } else {
+                rulesByRawType.computeIfAbsent(original.getErasedType(), key -> new ArrayList<>()).add(rule);
+            }
+        }
+    }
+
+    /**
+     * Replace given rules by one indexed rule per order
+     *
+     * @param rules rules in registration order
+     * @return indexed rules
+     */
+    public static List<IndexedAlternateTypeRule> index(List<AlternateTypeRule> rules) {
+        Map<Integer, List<AlternateTypeRule>> rulesByOrder = new LinkedHashMap<>();
+        rules.forEach(rule -> rulesByOrder.computeIfAbsent(rule.getOrder(), key -> new ArrayList<>()).add(rule));
+        List<IndexedAlternateTypeRule> indexed = new ArrayList<>(rulesByOrder.size());
+        rulesByOrder.forEach((order, orderRules) -> indexed.add(new IndexedAlternateTypeRule(orderRules, order)));
+        return indexed;
+    }
+
+    @Override
+    public boolean appliesTo(ResolvedType type) {
+        return resolve(type).isPresent();
+    }
+
+    @Override
+    public ResolvedType alternateFor(ResolvedType type) {
+        return resolve(type).orElse(type);
+    }
+
+    public List<AlternateTypeRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    protected Optional<ResolvedType> resolve(ResolvedType type) {
+        if (type == null) {
+            return Optional.empty();
+        }
+        Optional<ResolvedType> alternate = resolved.get(type);
+        if (alternate != null) {
+            hits.increment();
+            return alternate;
+        }
+        misses.increment();
+        return resolved.computeIfAbsent(type, this::findAlternate);
+    }
+
+    private Optional<ResolvedType> findAlternate(ResolvedType type) {
+        AlternateTypeRule indexedRule = firstApplying(rulesByRawType.getOrDefault(type.getErasedType(), List.of()), type);
+        AlternateTypeRule unindexedRule = firstApplying(unindexedRules, type);
+        AlternateTypeRule rule = indexedRule == null ? unindexedRule
+                : unindexedRule == null ? indexedRule
+                : rules.indexOf(indexedRule) < rules.indexOf(unindexedRule) ? indexedRule : unindexedRule;
+        return Optional.ofNullable(rule).map(applying -> applying.alternateFor(type));
+    }
+
+    private static AlternateTypeRule firstApplying(List<AlternateTypeRule> candidates, ResolvedType type) {
+        for (AlternateTypeRule candidate : candidates) {
+            if (candidate.appliesTo(type)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static ResolvedType original(AlternateTypeRule rule) {
+        if (ORIGINAL_FIELD == null || rule.getClass() != AlternateTypeRule.class) {
+            // subclasses may match types beyond their original
+            return null;
+        }
+        return (ResolvedType) ReflectionUtils.getField(ORIGINAL_FIELD, rule);
+    }
+
+    private static Field originalField() {
+        Field field = ReflectionUtils.findField(AlternateTypeRule.class, "original", ResolvedType.class);
+        if (field != null) {
+            ReflectionUtils.makeAccessible(field);
+        }
+        return field;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.security;
+
+import lombok.Value;
+import springfox.documentation.service.AuthorizationScope;
+import springfox.documentation.service.SecurityReference;
+import springfox.documentation.spi.service.contexts.OperationContext;
+import springfox.documentation.spi.service.contexts.SecurityContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SecurityReferenceIndex. Single {@link SecurityContext} standing in for all security contexts of a Docket.
+ * The security references of an operation are resolved once per request mapping pattern and HTTP method
+ * by sweeping all contexts, and looked up for every further operation with the same key.
+ *
+ * Hence the operation selectors of indexed contexts must depend on path and HTTP method only.
+ */
+public class SecurityReferenceIndex extends SecurityContext {
+
+    private final List<SecurityContext> securityContexts;
+    private final Map<String, List<SecurityReference>> index = new ConcurrentHashMap<>();
+
+    public SecurityReferenceIndex(List<SecurityContext> securityContexts) {
+        super(new ArrayList<>(), path -> true, method -> true, operation -> true);
+        this.securityContexts = List.copyOf(securityContexts);
+    }
+
+    @Override
+    public List<SecurityReference> securityForOperation(OperationContext operationContext) {
+        String key = operationContext.httpMethod() + " " + operationContext.requestMappingPattern();
+        List<SecurityReference> references = index.computeIfAbsent(key, ignored -> resolve(operationContext));
+        // springfox expects null for operations not covered by the context
+        return references.isEmpty() ? null : references;
+    }
+
+    @Override
+    public List<SecurityReference> getSecurityReferences() {
+        List<SecurityReference> references = new ArrayList<>();
+        securityContexts.forEach(context -> references.addAll(context.getSecurityReferences()));
+        return references;
+    }
+
+    public List<SecurityContext> getSecurityContexts() {
+        return securityContexts;
+    }
+
+    private List<SecurityReference> resolve(OperationContext operationContext) {
+        List<SecurityReference> references = null;
+        for (SecurityContext context : securityContexts) {
+            List<SecurityReference> contextReferences = context.securityForOperation(operationContext);
+            if (contextReferences != null && !contextReferences.isEmpty()) {
+                if (references == null) {
+                    references = new ArrayList<>(contextReferences.size());
+                }
+                references.addAll(contextReferences);
+            }
+        }
+        return references == null ? Collections.emptyList() : Collections.unmodifiableList(references);
+    }
+
+    /**
+     * Shares equal authorization scopes between the security contexts and groups of one application, so they
+     * aren't allocated again. Holds one entry per distinct scope and lives as long as its owner, e.g. the Docket
+     * configuration.
+     */
+    public static class ScopeInterner {
+
+        private final Map<ScopeKey, AuthorizationScope> scopes = new ConcurrentHashMap<>();
+
+        /**
+         * @param scopes authorization scopes
+         * @return shared instances of given scopes
+         */
+        public AuthorizationScope[] intern(List<AuthorizationScope> scopes) {
+            return scopes.stream()
+                    .map(scope -> this.scopes.computeIfAbsent(new ScopeKey(scope.getScope(), scope.getDescription()), key -> scope))
+                    .toArray(AuthorizationScope[]::new);
+        }
+
+        public int size() {
+            return scopes.size();
+        }
+    }
+
+    @Value
+    private static class ScopeKey {
+        String scope;
+        String description;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.selectors;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * PathSelector. Declarative API path selector of include / exclude ant and prefix patterns, compiled into
+ * prefix tries: a path is walked once through the trie, and only ant patterns sharing its literal prefix
+ * are evaluated. Patterns of the form "/prefix/**" are matched by the trie alone.
+ *
+ * Decisions are memoized per request mapping pattern, since springfox asks for the same patterns repeatedly,
+ * e.g. for every Docket and again for every security context.
+ *
+ * A PathSelector is a {@link Predicate}, so it can be passed to and wrapped by
+ * {@link com.cisco.msx.swagger.SwaggerConfigurer#configureApiPathSelector(Predicate)} as before.
+ * Use {@link #memoize(Predicate)} to memoize such a wrapped predicate as a whole.
+ */
+public final class PathSelector implements Predicate<String> {
+
+    static final int MAX_MEMOIZED_DECISIONS = 10_000;
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String ANY_SUFFIX = "/**";
+
+    private final Node includes;
+    private final Node excludes;
+    private final Predicate<String> predicate;
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    private PathSelector(Node includes, Node excludes, Predicate<String> predicate) {
+        this.includes = includes;
+        this.excludes = excludes;
+        this.predicate = predicate;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Memoize decisions of any path predicate, e.g. a PathSelector wrapped by SwaggerConfigurers
+     *
+     * @param predicate the predicate
+     * @return memoizing predicate, or the same instance if it memoizes already
+     */
+    public static Predicate<String> memoize(Predicate<String> predicate) {
+        if (predicate instanceof PathSelector || predicate instanceof Memoized) {
+            return predicate;
+        }
+        return new Memoized(predicate);
+    }
+
+    @Override
+    public boolean test(String path) {
+        return decide(decisions, path, this::evaluate);
+    }
+
+    private boolean evaluate(String path) {
+        return (includes == null || includes.matches(path))
+                && (excludes == null || !excludes.matches(path))
+                && (predicate == null || predicate.test(path));
+    }
+
+    private static boolean decide(Map<String, Boolean> decisions, String path, Predicate<String> evaluation) {
+        if (path == null) {
+            return evaluation.test(null);
+        }
+        Boolean decision = decisions.get(path);
+        if (decision == null) {
+            decision = evaluation.test(path);
+            if (decisions.size() < MAX_MEMOIZED_DECISIONS) {
+                decisions.put(path, decision);
+            }
+        }
+        return decision;
+    }
+
+    public static class Builder {
+
+        private final List<String> includeAnt = new ArrayList<>();
+        private final List<String> includePrefix = new ArrayList<>();
+        private final List<String> excludeAnt = new ArrayList<>();
+        private final List<String> excludePrefix = new ArrayList<>();
+        private Predicate<String> predicate;
+
+        public Builder includeAnt(String... patterns) {
+            return includeAnt(Arrays.asList(patterns));
+        }
+
+        public Builder includeAnt(Collection<String> patterns) {
+            includeAnt.addAll(patterns);
+            return this;
+        }
+
+        public Builder includePrefix(String... prefixes) {
+            includePrefix.addAll(Arrays.asList(prefixes));
+            return this;
+        }
+
+        public Builder excludeAnt(String... patterns) {
+            excludeAnt.addAll(Arrays.asList(patterns));
+            return this;
+        }
+
+        public Builder excludePrefix(String... prefixes) {
+            excludePrefix.addAll(Arrays.asList(prefixes));
+            return this;
+        }
+
+        /**
+         * Additionally require an arbitrary predicate, evaluated after the patterns
+         */
+        public Builder and(Predicate<String> predicate) {
+            this.predicate = this.predicate == null ? predicate : this.predicate.and(predicate);
+            return this;
+        }
+
+        /**
+         * @return selector of paths matching any include pattern (all paths if there are none),
+         * no exclude pattern and the additional predicates
+         */
+        public PathSelector build() {
+            return new PathSelector(compile(includeAnt, includePrefix), compile(excludeAnt, excludePrefix), predicate);
+        }
+
+        private static Node compile(List<String> antPatterns, List<String> prefixes) {
+            if (antPatterns.isEmpty() && prefixes.isEmpty()) {
+                return null;
+            }
+            Node root = new Node();
+            prefixes.forEach(prefix -> root.insert(prefix).prefix = true);
+            for (String pattern : antPatterns) {
+                String literal = literalPrefix(pattern);
+                if (literal.length() == pattern.length()) {
+                    root.insert(pattern).exact = true;
+                } else if (pattern.endsWith(ANY_SUFFIX) && literal.length() == pattern.length() - 2) {
+                    // "/prefix/**" matches "/prefix" and everything below "/prefix/"
+                    root.insert(literal).prefix = true;
+                    root.insert(literal.substring(0, literal.length() - 1)).exact = true;
+                } else {
+                    root.insert(literal).addPattern(pattern);
+                }
+            }
+            return root;
+        }
+
+        private static String literalPrefix(String pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == '*' || c == '?' || c == '{') {
+                    return pattern.substring(0, i);
+                }
+            }
+            return pattern;
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private boolean prefix;
+        private boolean exact;
+        private List<String> patterns;
+
+        Node insert(String path) {
+            Node node = this;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.children.computeIfAbsent(path.charAt(i), c -> new Node());
+            }
+            return node;
+        }
+
+        void addPattern(String pattern) {
+            if (patterns == null) {
+                patterns = new ArrayList<>(1);
+            }
+            patterns.add(pattern);
+        }
+
+        boolean matches(String path) {
+            if (path == null) {
+                return false;
+            }
+            Node node = this;
+            for (int i = 0; ; i++) {
+                if (node.prefix) {
+                    return true;
+                }
+                if (node.patterns != null && matchesAny(node.patterns, path)) {
+                    return true;
+                }
+                if (i == path.length()) {
+                    return node.exact;
+                }
+                node = node.children.get(path.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+        }
+
+        private static boolean matchesAny(List<String> patterns, String path) {
+            for (String pattern : patterns) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Memoized implements Predicate<String> {
+        private final Predicate<String> delegate;
+        private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+        Memoized(Predicate<String> delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        @Override
+        public boolean test(String path) {
+            return decide(decisions, path, delegate);
+        }
+    }
+}
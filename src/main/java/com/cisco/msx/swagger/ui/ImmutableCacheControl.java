@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.ui;
+
+import org.springframework.http.CacheControl;
+
+/**
+ * ImmutableCacheControl. Cache setting of resource handlers marking resources as cacheable for a year and immutable.
+ * Spring's CacheControl has no "immutable" directive before 5.3. Resource handlers only apply it to resources they
+ * found, so missing resources and errors are not cached.
+ */
+public class ImmutableCacheControl extends CacheControl {
+
+    public static final String HEADER_VALUE = "public, max-age=31536000, immutable";
+
+    @Override
+    public String getHeaderValue() {
+        return HEADER_VALUE;
+    }
+}
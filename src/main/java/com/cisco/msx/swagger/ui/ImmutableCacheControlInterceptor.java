@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.ui;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * ImmutableCacheControlInterceptor. Complements {@link ImmutableCacheControl} for resources whose path changes with
+ * their content, such as the fingerprinted Swagger UI assets: resource handlers answer "304 Not Modified" without
+ * applying their cache settings, so the immutable Cache-Control is added to these responses after the handler.
+ * Other statuses are left alone, so a missing asset never becomes cacheable.
+ */
+public class ImmutableCacheControlInterceptor implements HandlerInterceptor {
+
+    public static final String CACHE_CONTROL = ImmutableCacheControl.HEADER_VALUE;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        // a 304 has no body, so the response isn't committed yet
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED.value()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+    }
+}
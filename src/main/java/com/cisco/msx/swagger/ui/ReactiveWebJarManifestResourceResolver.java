@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.ui;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.reactive.resource.AbstractResourceResolver;
+import org.springframework.web.reactive.resource.ResourceResolverChain;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * ReactiveWebJarManifestResourceResolver. WebFlux counterpart of {@link WebJarManifestResourceResolver},
+ * resolving versionless webjar paths through the {@link WebJarManifest}.
+ */
+public class ReactiveWebJarManifestResourceResolver extends AbstractResourceResolver {
+
+    private final WebJarManifest manifest;
+
+    public ReactiveWebJarManifestResourceResolver(WebJarManifest manifest) {
+        this.manifest = manifest;
+    }
+
+    @Override
+    protected Mono<Resource> resolveResourceInternal(ServerWebExchange exchange, String requestPath,
+                                                     List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveResource(exchange, requestPath, locations)
+                .switchIfEmpty(Mono.defer(() -> {
+                    String versionedPath = manifest.versioned(requestPath);
+                    return versionedPath == null
+                            ? Mono.empty()
+                            : chain.resolveResource(exchange, versionedPath, locations);
+                }));
+    }
+
+    @Override
+    protected Mono<String> resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                                  ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations)
+                .switchIfEmpty(Mono.defer(() -> {
+                    String versionedPath = manifest.versioned(resourceUrlPath);
+                    return versionedPath == null
+                            ? Mono.empty()
+                            : chain.resolveUrlPath(versionedPath, locations);
+                }));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.ui;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * WebJarManifest. Versions of the webjars used by the Swagger UI, written at build time into
+ * "META-INF/msx-swagger/webjars.properties" by resource filtering of the Maven build. Maps versionless
+ * webjar paths to versioned ones without scanning the classpath like webjars-locator does.
+ */
+@Slf4j
+public class WebJarManifest {
+
+    public static final String LOCATION = "META-INF/msx-swagger/webjars.properties";
+
+    private final Map<String, String> versions;
+
+    public WebJarManifest(Map<String, String> versions) {
+        this.versions = Collections.unmodifiableMap(new HashMap<>(versions));
+    }
+
+    /**
+     * @param classLoader class loader to load manifests from
+     * @return all manifests on the classpath merged, entries not resolved by the build are skipped
+     */
+    public static WebJarManifest load(ClassLoader classLoader) {
+        Map<String, String> versions = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver(classLoader).getResources("classpath*:" + LOCATION)) {
+                Properties properties = PropertiesLoaderUtils.loadProperties(resource);
+                properties.stringPropertyNames().stream()
+                        .filter(name -> !properties.getProperty(name).startsWith("${"))
+                        .forEach(name -> versions.putIfAbsent(name, properties.getProperty(name)));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to load {}, webjars are resolved by webjars-locator only", LOCATION, e);
+        }
+        return new WebJarManifest(versions);
+    }
+
+    public Map<String, String> getVersions() {
+        return versions;
+    }
+
+    /**
+     * @param path versionless path within the webjars location, e.g. "swagger-ui/swagger-ui.css"
+     * @return versioned path, e.g. "swagger-ui/3.31.1/swagger-ui.css", or null if the webjar is unknown
+     * or the path is already versioned
+     */
+    public String versioned(String path) {
+        int separator = path.indexOf('/');
+        if (separator <= 0) {
+            return null;
+        }
+        String webjar = path.substring(0, separator);
+        String version = versions.get(webjar);
+        String rest = path.substring(separator + 1);
+        if (version == null || rest.startsWith(version + "/")) {
+            return null;
+        }
+        return webjar + "/" + version + "/" + rest;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.ui;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * WebJarManifestResourceResolver. Resolves versionless webjar paths through the {@link WebJarManifest},
+ * the same way Spring's WebJarsResourceResolver does through webjars-locator. Paths of webjars missing from
+ * the manifest, or not found at the manifest's version, are left to the rest of the chain.
+ */
+public class WebJarManifestResourceResolver extends AbstractResourceResolver {
+
+    private final WebJarManifest manifest;
+
+    public WebJarManifestResourceResolver(WebJarManifest manifest) {
+        this.manifest = manifest;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resolved = chain.resolveResource(request, requestPath, locations);
+        if (resolved == null) {
+            String versionedPath = manifest.versioned(requestPath);
+            if (versionedPath != null) {
+                resolved = chain.resolveResource(request, versionedPath, locations);
+            }
+        }
+        return resolved;
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        String path = chain.resolveUrlPath(resourceUrlPath, locations);
+        if (path == null) {
+            String versionedPath = manifest.versioned(resourceUrlPath);
+            if (versionedPath != null) {
+                path = chain.resolveUrlPath(versionedPath, locations);
+            }
+        }
+        return path;
+    }
+}
@@ -8,6 +8,7 @@ package com.cisco.msx.utils;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.Order;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 import java.util.*;
 import java.util.Map.Entry;
@@ -24,6 +25,11 @@ import java.util.stream.Collectors;
  */
 public class FunctionUtils {
 
+    /**
+     * {@link Order} annotations by class, an annotation doesn't change at runtime
+     */
+    private static final Map<Class<?>, Optional<Integer>> ANNOTATED_ORDERS = new ConcurrentReferenceHashMap<>();
+
     private FunctionUtils() {}
 
     public static Optional<Integer> findOrder(Object obj) {
@@ -32,10 +38,8 @@ public class FunctionUtils {
         }
         if (obj != null) {
             Class<?> clazz = (obj instanceof Class ? (Class<?>) obj : obj.getClass());
-            Order order = AnnotationUtils.findAnnotation(clazz, Order.class);
-            if (order != null) {
-                return Optional.of(order.value());
-            }
+            return ANNOTATED_ORDERS.computeIfAbsent(clazz, key ->
+                    Optional.ofNullable(AnnotationUtils.findAnnotation(key, Order.class)).map(Order::value));
         }
         return Optional.empty();
     }
@@ -96,6 +100,74 @@ public class FunctionUtils {
         return Collections.reverseOrder(orderedLast());
     }
 
+    /**
+     * Sort with the order of {@link #orderedFirst()}, resolving each element's order once instead of
+     * on every comparison
+     *
+     * @param items items to sort
+     * @param <T>
+     * @return new sorted list
+     */
+    public static <T> List<T> sortedOrderedFirst(Collection<? extends T> items) {
+        return sortedByOrder(items, Ordered.LOWEST_PRECEDENCE, false);
+    }
+
+    /**
+     * Sort with the order of {@link #reversedOrderedFirst()}, resolving each element's order once
+     *
+     * @param items items to sort
+     * @param <T>
+     * @return new sorted list
+     */
+    public static <T> List<T> sortedReversedOrderedFirst(Collection<? extends T> items) {
+        return sortedByOrder(items, Ordered.LOWEST_PRECEDENCE, true);
+    }
+
+    /**
+     * Sort with the order of {@link #orderedLast()}, resolving each element's order once
+     *
+     * @param items items to sort
+     * @param <T>
+     * @return new sorted list
+     */
+    public static <T> List<T> sortedOrderedLast(Collection<? extends T> items) {
+        return sortedByOrder(items, Ordered.HIGHEST_PRECEDENCE, false);
+    }
+
+    /**
+     * Sort with the order of {@link #reversedOrderedLast()}, resolving each element's order once
+     *
+     * @param items items to sort
+     * @param <T>
+     * @return new sorted list
+     */
+    public static <T> List<T> sortedReversedOrderedLast(Collection<? extends T> items) {
+        return sortedByOrder(items, Ordered.HIGHEST_PRECEDENCE, true);
+    }
+
+    private static <T> List<T> sortedByOrder(Collection<? extends T> items, int unorderedValue, boolean reversed) {
+        List<OrderKey<T>> keys = new ArrayList<>(items.size());
+        for (T item : items) {
+            keys.add(new OrderKey<>(findOrder(item).orElse(unorderedValue), item));
+        }
+        Comparator<OrderKey<T>> byOrder = Comparator.comparingInt(key -> key.order);
+        keys.sort(reversed ? byOrder.reversed() : byOrder);
+
+        List<T> sorted = new ArrayList<>(keys.size());
+        keys.forEach(key -> sorted.add(key.item));
+        return sorted;
+    }
+
+    private static final class OrderKey<T> {
+        private final int order;
+        private final T item;
+
+        OrderKey(int order, T item) {
+            this.order = order;
+            this.item = item;
+        }
+    }
+
     /**
      * Convenient Map {@link Collector} that collect stream of {@link Entry} with give map supplier.
      *
@@ -0,0 +1,79 @@
+/*
+ * Fingerprints and pre-compresses the UI assets after the webpack build.
+ *
+ * Every file of css/, fonts/ and images/, and the webpack bundle, is written to
+ * <build dir>/swagger-assets/<name>.<content hash>.<ext> together with ".gz" and ".br" variants of
+ * compressible types. References in CSS and in swagger-ui.html are rewritten to the fingerprinted names,
+ * and the rewritten swagger-ui.html is written to <build dir>.
+ */
+'use strict';
+
+const crypto = require('crypto');
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const SOURCE_DIR = __dirname;
+const BUNDLE_DIR = path.resolve(process.env.WEBPACK_OUTPUT_DIR);
+const BUILD_DIR = path.resolve(BUNDLE_DIR, '..');
+const ASSETS = 'swagger-assets';
+const ASSETS_DIR = path.join(BUILD_DIR, ASSETS);
+const COMPRESSIBLE = /\.(js|css|svg|ttf|html)$/;
+const CSS_URL = /url\((['"]?)([^'")]+)\1\)/g;
+
+// asset path relative to the web root -> fingerprinted file name
+const fingerprinted = {};
+
+function files(dir) {
+  const absolute = path.join(SOURCE_DIR, dir);
+  if (!fs.existsSync(absolute)) {
+    return [];
+  }
+  return fs.readdirSync(absolute)
+    .filter(name => fs.statSync(path.join(absolute, name)).isFile())
+    .map(name => path.posix.join(dir, name));
+}
+
+function emit(assetPath, content) {
+  const hash = crypto.createHash('sha256').update(content).digest('hex').substring(0, 12);
+  const ext = path.extname(assetPath);
+  const name = path.basename(assetPath, ext) + '.' + hash + ext;
+  const target = path.join(ASSETS_DIR, name);
+  fs.writeFileSync(target, content);
+  if (COMPRESSIBLE.test(name)) {
+    fs.writeFileSync(target + '.gz', zlib.gzipSync(content, {level: zlib.constants.Z_BEST_COMPRESSION}));
+    if (zlib.brotliCompressSync) {
+      fs.writeFileSync(target + '.br', zlib.brotliCompressSync(content));
+    }
+  }
+  fingerprinted[assetPath] = name;
+}
+
+function rewriteCss(cssPath, css) {
+  return css.replace(CSS_URL, (match, quote, url) => {
+    const referenced = path.posix.normalize(path.posix.join(path.posix.dirname(cssPath), url));
+    return fingerprinted[referenced] ? 'url(' + quote + fingerprinted[referenced] + quote + ')' : match;
+  });
+}
+
+function rewriteHtml(html) {
+  return Object.keys(fingerprinted).reduce((result, assetPath) => {
+    const escaped = assetPath.replace(/[.*+?^${}()|[\]\\]/g, '\\$&');
+    const reference = new RegExp('(["\'])' + escaped + '(\\?[^"\']*)?\\1', 'g');
+    return result.replace(reference, '$1' + ASSETS + '/' + fingerprinted[assetPath] + '$1');
+  }, html);
+}
+
+fs.mkdirSync(ASSETS_DIR, {recursive: true});
+
+// referenced assets first, so CSS can point to their fingerprinted names
+files('fonts').concat(files('images')).forEach(file => emit(file, fs.readFileSync(path.join(SOURCE_DIR, file))));
+files('css').forEach(file => emit(file, Buffer.from(rewriteCss(file, fs.readFileSync(path.join(SOURCE_DIR, file), 'utf8')))));
+fs.readdirSync(BUNDLE_DIR)
+  .filter(name => name.endsWith('.js'))
+  .forEach(name => emit('js/' + name, fs.readFileSync(path.join(BUNDLE_DIR, name))));
+
+const html = rewriteHtml(fs.readFileSync(path.join(SOURCE_DIR, 'swagger-ui.html'), 'utf8'));
+fs.writeFileSync(path.join(BUILD_DIR, 'swagger-ui.html'), html);
+
+console.log('Fingerprinted ' + Object.keys(fingerprinted).length + ' assets into ' + ASSETS_DIR);
@@ -10,7 +10,7 @@ window.onload = () => {
     return urlMatches[1];
   };
 
-  const getUI = (baseUrl, resources, configUI, oauthSecurity, ssoSecurity) => {
+  const getUI = (baseUrl, resources, defaultSpec, configUI, oauthSecurity, ssoSecurity) => {
 
     let layout = "StandaloneLayout";
     let plugins = [ SwaggerUIBundle.plugins.DownloadUrl ];
@@ -30,6 +30,7 @@ window.onload = () => {
       spec: {},
       url: "",
       urls: resources,
+      "urls.primaryName": defaultSpec ? defaultSpec.name : undefined,
       /*--------------------------------------------*\
        * Plugin system
       \*--------------------------------------------*/
@@ -100,8 +101,9 @@ window.onload = () => {
 
   const buildSystemAsync = async (baseUrl) => {
     try {
-      const configUIResponse = await fetch(
-          baseUrl + "/swagger-resources/configuration/ui",
+      // resources, UI and security configurations in a single round trip
+      const bootstrapResponse = await fetch(
+          baseUrl + "/swagger-resources/bootstrap",
           {
             credentials: 'same-origin',
             headers: {
@@ -109,47 +111,18 @@ window.onload = () => {
               'Content-Type': 'application/json'
             },
           });
-      const configUI = await configUIResponse.json();
-
-      const configOAuth2SecurityResponse = await fetch(
-          baseUrl + "/swagger-resources/configuration/security",
-          {
-            credentials: 'same-origin',
-            headers: {
-              'Accept': 'application/json',
-              'Content-Type': 'application/json'
-            },
-          });
-      const oauthSecurity = await configOAuth2SecurityResponse.json();
-
-      const configSsoSecurityResponse = await fetch(
-          baseUrl + "/swagger-resources/configuration/security/sso",
-          {
-            credentials: 'same-origin',
-            headers: {
-              'Accept': 'application/json',
-              'Content-Type': 'application/json'
-            },
-          });
-      const ssoSecurity = await configSsoSecurityResponse.json();
-
-      const resourcesResponse = await fetch(
-          baseUrl + "/swagger-resources",
-          {
-            credentials: 'same-origin',
-            headers: {
-              'Accept': 'application/json',
-              'Content-Type': 'application/json'
-            },
-          });
-      const resources = await resourcesResponse.json();
+      const bootstrap = await bootstrapResponse.json();
+      const configUI = bootstrap.ui;
+      const oauthSecurity = bootstrap.security;
+      const ssoSecurity = bootstrap.sso;
+      const resources = bootstrap.resources;
       resources.forEach(resource => {
         if (resource.url.substring(0, 4) !== 'http') {
           resource.url = baseUrl + resource.url;
         }
       });
 
-      window.ui = getUI(baseUrl, resources, configUI, oauthSecurity, ssoSecurity);
+      window.ui = getUI(baseUrl, resources, bootstrap.defaultSpec, configUI, oauthSecurity, ssoSecurity);
     } catch (e) {
       const retryURL = await prompt(
         "Unable to infer base url. This is common when using dynamic servlet registration or when" +
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.aggregate;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ApiDocsAggregatorTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={ApiDocsAggregatorTests.LocalTestConfiguration.class})
+@WebMvcTest
+@TestPropertySource(properties = {
+        "swagger.aggregate.enabled=true",
+        "swagger.aggregate.timeout=2s",
+        "swagger.aggregate.refreshInterval=1h",
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class ApiDocsAggregatorTests {
+
+    static final String DOCUMENTED_SERVICE = "inventory";
+    static final String UNDOCUMENTED_SERVICE = "legacy";
+    static final String DOCS = "{\"swagger\":\"2.0\",\"info\":{\"title\":\"Inventory\"}}";
+    static final String ETAG = "\"inventory-v1\"";
+
+    private static HttpServer server;
+    private static final AtomicInteger docsRequests = new AtomicInteger();
+    private static final AtomicInteger notModified = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApiDocsAggregator apiDocsAggregator;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/inventory/swagger-resources", exchange -> respond(exchange, 200,
+                "[{\"name\":\"default\",\"url\":\"/v2/api-docs\",\"swaggerVersion\":\"2.0\"},"
+                        + "{\"name\":\"platform\",\"url\":\"/v2/api-docs?group=platform\",\"swaggerVersion\":\"2.0\"}]"));
+        server.createContext("/inventory/v2/api-docs", exchange -> {
+            docsRequests.incrementAndGet();
+            exchange.getResponseHeaders().set(HttpHeaders.ETAG, ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            } else {
+                respond(exchange, 200, DOCS);
+            }
+        });
+        server.createContext("/", exchange -> respond(exchange, 404, ""));
+        server.start();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Before
+    public void refresh() {
+        apiDocsAggregator.refresh().join();
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testAggregatedSwaggerResources() throws Exception {
+        mockMvc.perform(get("/swagger-aggregate/swagger-resources"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value(DOCUMENTED_SERVICE + "/default"))
+                .andExpect(jsonPath("$[0].url").value("/swagger-aggregate/services/inventory/api-docs?group=default"))
+                .andExpect(jsonPath("$[1].name").value(DOCUMENTED_SERVICE + "/platform"));
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testProxiedApiDocs() throws Exception {
+        String etag = mockMvc.perform(get("/swagger-aggregate/services/inventory/api-docs").param("group", "platform"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.info.title").value("Inventory"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/swagger-aggregate/services/inventory/api-docs")
+                .param("group", "platform")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/swagger-aggregate/services/" + UNDOCUMENTED_SERVICE + "/api-docs"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testConditionalRefresh() {
+        int before = notModified.get();
+        int requests = docsRequests.get();
+
+        apiDocsAggregator.refresh().join();
+
+        assertEquals("both groups are revalidated", requests + 2, docsRequests.get());
+        assertEquals("unchanged groups answer 304", before + 2, notModified.get());
+        assertTrue(apiDocsAggregator.get(DOCUMENTED_SERVICE, "default").isPresent());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public DiscoveryClient discoveryClient() {
+            return new DiscoveryClient() {
+                @Override
+                public String description() {
+                    return "stub";
+                }
+
+                @Override
+                public List<ServiceInstance> getInstances(String serviceId) {
+                    DefaultServiceInstance instance = new DefaultServiceInstance(serviceId + "-1", serviceId,
+                            "localhost", server.getAddress().getPort(), false);
+                    instance.getMetadata().putAll(Map.of("contextPath", "/" + serviceId));
+                    return Collections.singletonList(instance);
+                }
+
+                @Override
+                public List<String> getServices() {
+                    return List.of(DOCUMENTED_SERVICE, UNDOCUMENTED_SERVICE);
+                }
+            };
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
@@ -21,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static com.cisco.msx.swagger.controller.AdditionalApiResourcesControllerTests.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -70,6 +72,30 @@ public class AdditionalApiResourcesControllerTests {
 		;
     }
     
+    @Test
+	@SuppressWarnings({"squid:S00112","squid:S2068"})
+    public void testUiBootstrapEndpoint() throws Exception {
+
+		String etag = this.mvc
+		.perform(get("/swagger-resources/bootstrap")
+				.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.resources").isArray())
+				.andExpect(jsonPath("$.ui").exists())
+				.andExpect(jsonPath("$.security").exists())
+				.andExpect(jsonPath("$.sso.clientId").value(TEST_CLIENT))
+				.andExpect(jsonPath("$.sso.authorizeUrl").value(TEST_AUTH_URL))
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		this.mvc
+		.perform(get("/swagger-resources/bootstrap")
+				.accept(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+		;
+    }
+
     @Configuration
 	public static class LocalTestConfiguration {
 		
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static springfox.documentation.builders.PathSelectors.ant;
+
+/**
+ * ApiDocsAsyncTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={ApiDocsAsyncTests.LocalTestConfiguration.class})
+@WebMvcTest(ApiDocsAsyncTests.TestController.class)
+@TestPropertySource(properties = {
+        "swagger.docs.async.enabled=true",
+        "swagger.docs.async.threads=2",
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class ApiDocsAsyncTests {
+
+    static final String API_GROUP = "async";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testAsyncApiDocs() throws Exception {
+        MvcResult result = mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+        ).andExpect(request().asyncStarted())
+        .andReturn();
+
+        MockHttpServletResponse response = awaitCompletion(result);
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(response.getContentAsString().contains("/test/async"));
+
+        // rendered documents are answered on the request thread
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+        ).andExpect(request().asyncNotStarted())
+        .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testAsyncUiBootstrap() throws Exception {
+        MvcResult result = mockMvc.perform(get("/swagger-resources/bootstrap"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String etag = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.resources[0].name").value(API_GROUP))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        result = mockMvc.perform(get("/swagger-resources/bootstrap")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testCoalescedExecution() throws Exception {
+        ApiDocsExecutor executor = new ApiDocsExecutor(2, 10, true, Duration.ofSeconds(5));
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger executions = new AtomicInteger();
+            CompletableFuture<String> first = executor.submit("group", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "docs";
+            });
+            CompletableFuture<String> second = executor.submit("group", () -> {
+                executions.incrementAndGet();
+                return "other";
+            });
+            assertSame(first, second);
+
+            release.countDown();
+            assertEquals("docs", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+
+            // completed executions aren't shared
+            assertEquals("again", executor.submit("group", () -> "again").get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testBoundedQueue() throws Exception {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            ApiDocsExecutor executor = new ApiDocsExecutor(1, 1, virtualThreads, Duration.ofSeconds(5));
+            try {
+                CountDownLatch release = new CountDownLatch(1);
+                CompletableFuture<String> running = executor.submit("running", () -> {
+                    await(release);
+                    return "running";
+                });
+                CompletableFuture<String> queued = executor.submit("queued", () -> "queued");
+                CompletableFuture<String> rejected = executor.submit("rejected", () -> "rejected");
+
+                ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+                assertTrue(ApiDocsExecutor.isRejected(e));
+
+                release.countDown();
+                assertEquals("running", running.get(5, TimeUnit.SECONDS));
+                assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+                // room again once the queue drained
+                assertEquals("again", executor.submit("rejected", () -> "again").get(5, TimeUnit.SECONDS));
+            } finally {
+                executor.destroy();
+            }
+        }
+    }
+
+    private static MockHttpServletResponse awaitCompletion(MvcResult result) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (result.getRequest().isAsyncStarted() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return result.getResponse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @RestController
+    @RequestMapping("/test")
+    public static class TestController {
+        @GetMapping("async")
+        public String async() {
+            return "async";
+        }
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public TestController testController() {
+            return new TestController();
+        }
+
+        @Bean
+        public SwaggerConfigurer asyncSwaggerConfigurer() {
+            return new SwaggerConfigurer() {
+                @Override
+                public Predicate<String> configureApiPathSelector(Predicate<String> apiPathSelector) {
+                    return apiPathSelector.or(ant("/test/**"));
+                }
+
+                @Override
+                public Docket configure(Docket docket) {
+                    return docket.groupName(API_GROUP);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.Data;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static springfox.documentation.builders.PathSelectors.ant;
+
+/**
+ * ApiDocsFilterTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={ApiDocsFilterTests.LocalTestConfiguration.class})
+@WebMvcTest(ApiDocsFilterTests.TestController.class)
+@TestPropertySource(properties = {
+        "swagger.docs.cache.enabled=true",
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class ApiDocsFilterTests {
+
+    static final String API_GROUP = "cached";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testCachedApiDocs() throws Exception {
+        String etag = mockMvc.perform(get("/v2/api-docs")
+                .accept(MediaType.APPLICATION_JSON)
+                .param("group", API_GROUP)
+        ).andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(jsonPath("$.swagger").value("2.0"))
+        .andExpect(jsonPath("$.host").value("localhost"))
+        .andExpect(jsonPath("$.basePath").value("/"))
+        .andExpect(jsonPath("$.paths['/test/cached']").exists())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+        ).andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testGzipApiDocs() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+        ).andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testUnknownGroup() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", "unknown")
+        ).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testSlices() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .param("tag", "test-item-controller")
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.paths['/test/items']").exists())
+        .andExpect(jsonPath("$.paths['/test/cached']").doesNotExist())
+        .andExpect(jsonPath("$.definitions.Item").exists())
+        .andExpect(jsonPath("$.definitions.Owner").exists())
+        .andExpect(jsonPath("$.tags[0].name").value("test-item-controller"))
+        .andExpect(jsonPath("$.host").value("localhost"));
+
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .param("pathPrefix", "/test/cached")
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.paths['/test/cached']").exists())
+        .andExpect(jsonPath("$.paths['/test/items']").doesNotExist())
+        .andExpect(jsonPath("$.definitions.Item").doesNotExist());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testSliceOfHostVariant() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .header("X-Forwarded-Host", "api.example.com")
+                .header(ApiDocsHost.X_FORWARDED_PREFIX, "/inventory")
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.host").value("api.example.com"))
+        .andExpect(jsonPath("$.basePath").value("/inventory"))
+        .andExpect(jsonPath("$.paths['/test/items']").exists())
+        .andExpect(jsonPath("$.paths['/test/cached']").exists());
+
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .param("tag", "test-item-controller")
+                .header("X-Forwarded-Host", "api.example.com")
+                .header(ApiDocsHost.X_FORWARDED_PREFIX, "/inventory")
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.host").value("api.example.com"))
+        .andExpect(jsonPath("$.basePath").value("/inventory"))
+        .andExpect(jsonPath("$.paths['/test/items']").exists())
+        .andExpect(jsonPath("$.paths['/test/cached']").doesNotExist())
+        .andExpect(jsonPath("$.definitions.Item").exists());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testSmileApiDocs() throws Exception {
+        byte[] body = mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.5")
+        ).andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-jackson-smile"))
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode spec = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertTrue(spec.path("paths").has("/test/items"));
+        assertTrue(spec.path("definitions").path("Item").path("properties").has("description"));
+        assertFalse(spec.path("info").has("description"));
+        assertFalse(spec.path("tags").get(0).has("description"));
+        assertEquals("", spec.path("paths").path("/test/items").path("get").path("responses").path("200").path("description").asText(null));
+
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.info.description").exists());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testCborApiDocs() throws Exception {
+        byte[] body = mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .param("tag", "test-item-controller")
+                .header(HttpHeaders.ACCEPT, "application/cbor")
+        ).andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/cbor"))
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode spec = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertTrue(spec.path("paths").has("/test/items"));
+        assertFalse(spec.path("paths").has("/test/cached"));
+        assertFalse(spec.path("info").has("description"));
+        assertEquals("localhost", spec.path("host").asText(null));
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @RestController
+    @RequestMapping("/test")
+    public static class TestController {
+        @GetMapping("cached")
+        public String cached() {
+            return "cached";
+        }
+    }
+
+    @RestController
+    @RequestMapping("/test/items")
+    public static class TestItemController {
+        @GetMapping
+        public Item item() {
+            return new Item();
+        }
+    }
+
+    @Data
+    public static class Item {
+        private String name;
+        private String description;
+        private Owner owner;
+    }
+
+    @Data
+    public static class Owner {
+        private String email;
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public TestController testController() {
+            return new TestController();
+        }
+
+        @Bean
+        public TestItemController testItemController() {
+            return new TestItemController();
+        }
+
+        @Bean
+        public SwaggerConfigurer cachedSwaggerConfigurer() {
+            return new SwaggerConfigurer() {
+                @Override
+                public Predicate<String> configureApiPathSelector(Predicate<String> apiPathSelector) {
+                    return apiPathSelector.or(ant("/test/**"));
+                }
+
+                @Override
+                public Docket configure(Docket docket) {
+                    return docket.groupName(API_GROUP);
+                }
+            };
+        }
+    }
+}
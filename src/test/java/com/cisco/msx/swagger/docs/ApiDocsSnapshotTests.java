@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ApiDocsSnapshotTests
+ */
+public class ApiDocsSnapshotTests {
+
+    static final String GROUP = "snapshot";
+    static final byte[] DOCS = "{\"swagger\":\"2.0\",\"paths\":{}}".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testWarmRestart() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath().resolve("docs");
+
+        ApiDocsSnapshot first = new ApiDocsSnapshot(directory, () -> "fingerprint-1");
+        assertFalse(first.restore());
+        first.save(new ApiDocsCache(new SnapshotApiDocsSource(new TestApiDocsSource(), first), new ObjectMapper(), 1));
+
+        ApiDocsSnapshot restarted = new ApiDocsSnapshot(directory, () -> "fingerprint-1");
+        assertTrue(restarted.restore());
+        assertEquals(Set.of(GROUP), restarted.getRestored().keySet());
+        ApiDocsCache cache = new ApiDocsCache(new SnapshotApiDocsSource(new FailingApiDocsSource(), restarted), new ObjectMapper(), 1);
+        assertEquals(ApiDocs.of(DOCS).getHash(), cache.get(GROUP).orElseThrow().getHash());
+
+        ApiDocsSnapshot changed = new ApiDocsSnapshot(directory, () -> "fingerprint-2");
+        assertFalse(changed.restore());
+        assertTrue(changed.getRestored().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testEmptySnapshot() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath().resolve("docs");
+
+        ApiDocsSnapshot first = new ApiDocsSnapshot(directory, () -> "fingerprint-1");
+        first.save(new ApiDocsCache(new SnapshotApiDocsSource(new EmptyApiDocsSource(), first), new ObjectMapper(), 1));
+        assertTrue(Files.isRegularFile(directory.resolve(ApiDocsSnapshot.FINGERPRINT_FILE)));
+
+        ApiDocsSnapshot restarted = new ApiDocsSnapshot(directory, () -> "fingerprint-1");
+        assertFalse(restarted.restore());
+        assertFalse(restarted.isRestored());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testReplaceSnapshot() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath().resolve("docs");
+        Path backup = directory.resolveSibling("docs" + ApiDocsSnapshot.BACKUP_SUFFIX);
+
+        ApiDocsSnapshot first = new ApiDocsSnapshot(directory, () -> "fingerprint-1");
+        first.save(new ApiDocsCache(new SnapshotApiDocsSource(new TestApiDocsSource(), first), new ObjectMapper(), 1));
+        ApiDocsSnapshot second = new ApiDocsSnapshot(directory, () -> "fingerprint-2");
+        second.save(new ApiDocsCache(new SnapshotApiDocsSource(new TestApiDocsSource(), second), new ObjectMapper(), 1));
+
+        assertFalse(Files.exists(backup));
+        assertEquals("fingerprint-2", new String(Files.readAllBytes(directory.resolve(ApiDocsSnapshot.FINGERPRINT_FILE)), StandardCharsets.UTF_8));
+        assertTrue(new ApiDocsSnapshot(directory, () -> "fingerprint-2").restore());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testRestoreInterruptedSwap() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath().resolve("docs");
+        Path backup = directory.resolveSibling("docs" + ApiDocsSnapshot.BACKUP_SUFFIX);
+
+        ApiDocsSnapshot first = new ApiDocsSnapshot(directory, () -> "fingerprint-1");
+        first.save(new ApiDocsCache(new SnapshotApiDocsSource(new TestApiDocsSource(), first), new ObjectMapper(), 1));
+        // crash after the previous snapshot is renamed to the backup
+        Files.move(directory, backup);
+
+        ApiDocsSnapshot restarted = new ApiDocsSnapshot(directory, () -> "fingerprint-1");
+        assertTrue(restarted.restore());
+        assertEquals(Set.of(GROUP), restarted.getRestored().keySet());
+        assertFalse(Files.exists(backup));
+    }
+
+    @Test
+    public void testFingerprint() {
+        List<String> mappings = List.of("{GET /api/a} A#a()", "{GET /api/b} B#b()");
+        String fingerprint = ApiDocsSnapshot.fingerprint(mappings, "properties", List.of(String.class));
+
+        assertEquals(fingerprint, ApiDocsSnapshot.fingerprint(List.of(mappings.get(1), mappings.get(0)), "properties", List.of(String.class)));
+        assertNotEquals(fingerprint, ApiDocsSnapshot.fingerprint(mappings.subList(0, 1), "properties", List.of(String.class)));
+        assertNotEquals(fingerprint, ApiDocsSnapshot.fingerprint(mappings, "changed", List.of(String.class)));
+        assertNotEquals(fingerprint, ApiDocsSnapshot.fingerprint(mappings, "properties", Collections.emptyList()));
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    static class TestApiDocsSource implements ApiDocsSource {
+        private final Object version = new Object();
+
+        @Override
+        public Set<String> groupNames() {
+            return Set.of(GROUP);
+        }
+
+        @Override
+        public Object version(String group) {
+            return GROUP.equals(group) ? version : null;
+        }
+
+        @Override
+        public ApiDocs render(String group, Object version) {
+            return ApiDocs.of(DOCS.clone());
+        }
+    }
+
+    static class EmptyApiDocsSource extends TestApiDocsSource {
+        @Override
+        public Set<String> groupNames() {
+            return Collections.emptySet();
+        }
+    }
+
+    static class FailingApiDocsSource extends TestApiDocsSource {
+        @Override
+        public ApiDocs render(String group, Object version) {
+            throw new IllegalStateException("should be served from the snapshot");
+        }
+    }
+}
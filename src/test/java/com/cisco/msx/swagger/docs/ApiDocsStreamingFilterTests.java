@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.io.ByteArrayInputStream;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static springfox.documentation.builders.PathSelectors.ant;
+
+/**
+ * ApiDocsStreamingFilterTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={ApiDocsStreamingFilterTests.LocalTestConfiguration.class})
+@WebMvcTest(ApiDocsStreamingFilterTests.TestController.class)
+@TestPropertySource(properties = {
+        "swagger.docs.streaming.enabled=true",
+        "swagger.docs.streaming.bufferSize=512",
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class ApiDocsStreamingFilterTests {
+
+    static final String API_GROUP = "streamed";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testStreamedApiDocs() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+        ).andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+        .andExpect(jsonPath("$.swagger").value("2.0"))
+        .andExpect(jsonPath("$.host").value("localhost"))
+        .andExpect(jsonPath("$.basePath").value("/"))
+        .andExpect(jsonPath("$.paths['/test/streamed']").exists());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testGzipApiDocs() throws Exception {
+        byte[] body = mockMvc.perform(get("/v2/api-docs")
+                .param("group", API_GROUP)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+        ).andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+        .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode spec = new ObjectMapper().readTree(new GZIPInputStream(new ByteArrayInputStream(body)));
+        assertEquals("2.0", spec.path("swagger").asText());
+        assertTrue(spec.path("paths").has("/test/streamed"));
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testUnknownGroup() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .param("group", "unknown")
+        ).andExpect(status().isNotFound());
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @RestController
+    @RequestMapping("/test")
+    public static class TestController {
+        @GetMapping("streamed")
+        public String streamed() {
+            return "streamed";
+        }
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public TestController testController() {
+            return new TestController();
+        }
+
+        @Bean
+        public SwaggerConfigurer streamedSwaggerConfigurer() {
+            return new SwaggerConfigurer() {
+                @Override
+                public Predicate<String> configureApiPathSelector(Predicate<String> apiPathSelector) {
+                    return apiPathSelector.or(ant("/test/**"));
+                }
+
+                @Override
+                public Docket configure(Docket docket) {
+                    return docket.groupName(API_GROUP);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ApiDocsTrafficFilterTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={ApiDocsTrafficFilterTests.LocalTestConfiguration.class})
+@WebMvcTest(ApiDocsTrafficFilterTests.TestController.class)
+@TestPropertySource(properties = {
+        "swagger.docs.cache.enabled=true",
+        "swagger.ui.traffic.requestsPerSecond=0.001",
+        "swagger.ui.traffic.burst=1",
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class ApiDocsTrafficFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testRateLimitServesCachedCopy() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.paths['/api/v1/do']").exists());
+
+        // limit exceeded, but already rendered for this host
+        mockMvc.perform(get("/v2/api-docs")
+                .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.paths['/api/v1/do']").exists());
+
+        mockMvc.perform(get("/swagger-resources")
+                .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @RestController
+    @RequestMapping("/api/v1")
+    public static class TestController {
+        @GetMapping("do")
+        public String doAction() {
+            return "done";
+        }
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public TestController testController() {
+            return new TestController();
+        }
+    }
+}
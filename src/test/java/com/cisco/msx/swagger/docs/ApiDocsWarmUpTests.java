@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.swagger.docs.ApiDocsWarmUp.GroupState;
+import com.cisco.msx.swagger.docs.ApiDocsWarmUp.State;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ApiDocsWarmUpTests
+ */
+public class ApiDocsWarmUpTests {
+
+    static final String HOT_GROUP = "hot";
+    static final String FAILING_GROUP = "failing";
+    static final String DOCS = "{\"swagger\":\"2.0\",\"info\":{\"title\":\"warm\"},\"paths\":{\"/items\":{}}}";
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testGroupStates() throws Exception {
+        ApiDocsWarmUp warmUp = new ApiDocsWarmUp(new ApiDocsCache(new TestApiDocsSource(), new ObjectMapper(), 4), null, 2);
+        try {
+            warmUp.warmUp().get(5, TimeUnit.SECONDS);
+
+            GroupState hot = warmUp.getStates().get(HOT_GROUP);
+            ApiDocs expected = ApiDocs.of(DOCS.getBytes(StandardCharsets.UTF_8));
+            assertEquals(State.HOT, hot.getState());
+            assertEquals(expected.getSize(), hot.getSize());
+            assertEquals(expected.getGzipSize(), hot.getGzipSize());
+            assertTrue(hot.getDurationMs() >= 0);
+
+            GroupState failing = warmUp.getStates().get(FAILING_GROUP);
+            assertEquals(State.FAILED, failing.getState());
+            assertNotNull(failing.getError());
+            assertFalse("a failed group keeps the warm-up from being hot", warmUp.isHot());
+        } finally {
+            warmUp.destroy();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testHealth() throws Exception {
+        ApiDocsWarmUp warmUp = new ApiDocsWarmUp(new ApiDocsCache(new TestApiDocsSource(), new ObjectMapper(), 4), null, 1);
+        try {
+            ApiDocsHealthIndicator indicator = new ApiDocsHealthIndicator(warmUp, Status.OUT_OF_SERVICE);
+            assertEquals("not warmed up yet", Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+            warmUp.warmUp().get(5, TimeUnit.SECONDS);
+            Health health = indicator.health();
+            assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+            GroupState hot = (GroupState) health.getDetails().get(HOT_GROUP);
+            assertEquals(State.HOT, hot.getState());
+            assertEquals(DOCS.length(), hot.getSize());
+            assertEquals(State.FAILED, ((GroupState) health.getDetails().get(FAILING_GROUP)).getState());
+        } finally {
+            warmUp.destroy();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testHostVariant() throws Exception {
+        ApiDocsCache cache = new ApiDocsCache(new TestApiDocsSource(), new ObjectMapper(), 4);
+        ApiDocs docs = cache.get(HOT_GROUP, new ApiDocsHost("example.com:8443", "/inventory")).orElseThrow();
+
+        JsonNode spec = new ObjectMapper().readTree(docs.newInputStream());
+        assertEquals("example.com:8443", spec.path("host").asText());
+        assertEquals("/inventory", spec.path("basePath").asText());
+        assertEquals("warm", spec.path("info").path("title").asText());
+        assertTrue(spec.path("paths").has("/items"));
+        List<String> fieldNames = new ArrayList<>();
+        spec.fieldNames().forEachRemaining(fieldNames::add);
+        assertEquals("host and basePath follow info", List.of("swagger", "info", "host", "basePath", "paths"), fieldNames);
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    static class TestApiDocsSource implements ApiDocsSource {
+        private final Object version = new Object();
+
+        @Override
+        public Set<String> groupNames() {
+            return Set.of(HOT_GROUP, FAILING_GROUP);
+        }
+
+        @Override
+        public Object version(String group) {
+            return groupNames().contains(group) ? version : null;
+        }
+
+        @Override
+        public ApiDocs render(String group, Object version) {
+            if (FAILING_GROUP.equals(group)) {
+                throw new IllegalStateException("documentation failed");
+            }
+            return ApiDocs.of(DOCS.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
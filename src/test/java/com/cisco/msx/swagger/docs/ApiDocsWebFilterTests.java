@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerWebFluxAutoConfiguration;
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.cisco.msx.swagger.ui.ImmutableCacheControl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.util.function.Predicate;
+
+import static springfox.documentation.builders.PathSelectors.ant;
+
+/**
+ * ApiDocsWebFilterTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={ApiDocsWebFilterTests.LocalTestConfiguration.class})
+@WebFluxTest(ApiDocsWebFilterTests.TestController.class)
+@TestPropertySource(properties = {
+        "swagger.docs.cache.enabled=true",
+        "swagger.security.sso.enabled=true",
+        "swagger.security.sso.clientId=" + ApiDocsWebFilterTests.TEST_CLIENT,
+})
+@ImportAutoConfiguration({
+        SwaggerWebFluxAutoConfiguration.class
+})
+public class ApiDocsWebFilterTests {
+
+    static final String API_GROUP = "reactive";
+    static final String TEST_CLIENT = "test-client";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testCachedApiDocs() throws Exception {
+        String etag = webTestClient.get()
+                .uri("/v2/api-docs?group={group}", API_GROUP)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.swagger").isEqualTo("2.0")
+                .jsonPath("$.paths['/test/reactive']").exists()
+                .returnResult().getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri("/v2/api-docs?group={group}", API_GROUP)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testGzipApiDocs() throws Exception {
+        webTestClient.get()
+                .uri("/v2/api-docs?group={group}", API_GROUP)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testUnknownGroup() throws Exception {
+        webTestClient.get()
+                .uri("/v2/api-docs?group=unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testResources() throws Exception {
+        webTestClient.get()
+                .uri("/swagger-resources/configuration/security/sso")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.clientId").isEqualTo(TEST_CLIENT);
+
+        webTestClient.get()
+                .uri("/swagger-resources/bootstrap")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.sso.clientId").isEqualTo(TEST_CLIENT)
+                .jsonPath("$.resources[0].name").isEqualTo(API_GROUP);
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testStaticAssets() throws Exception {
+        webTestClient.get()
+                .uri("/swagger-assets/test.0123456789ab.css")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, ImmutableCacheControl.HEADER_VALUE);
+
+        webTestClient.get()
+                .uri("/swagger-assets/missing.0123456789ab.css")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().doesNotExist(HttpHeaders.CACHE_CONTROL);
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @RestController
+    @RequestMapping("/test")
+    public static class TestController {
+        @GetMapping("reactive")
+        public Mono<String> reactive() {
+            return Mono.just("reactive");
+        }
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public TestController testController() {
+            return new TestController();
+        }
+
+        @Bean
+        public SwaggerConfigurer reactiveSwaggerConfigurer() {
+            return new SwaggerConfigurer() {
+                @Override
+                public Predicate<String> configureApiPathSelector(Predicate<String> apiPathSelector) {
+                    return apiPathSelector.or(ant("/test/**"));
+                }
+
+                @Override
+                public Docket configure(Docket docket) {
+                    return docket.groupName(API_GROUP);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import springfox.documentation.spring.web.DocumentationCache;
+
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ClasspathApiDocsTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={ClasspathApiDocsTests.LocalTestConfiguration.class})
+@WebMvcTest
+@TestPropertySource(properties = {
+        "swagger.source=classpath",
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class ClasspathApiDocsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DocumentationCache documentationCache;
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testClasspathApiDocs() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .accept(MediaType.APPLICATION_JSON)
+                .param("group", "exported")
+        ).andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(jsonPath("$.info.title").value("Exported API"))
+        .andExpect(jsonPath("$.host").value("localhost"))
+        .andExpect(jsonPath("$.paths['/api/exported']").exists());
+
+        assertTrue("springfox should not scan", documentationCache.all().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testClasspathSwaggerResources() throws Exception {
+        mockMvc.perform(get("/swagger-resources")
+                .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value("exported"))
+        .andExpect(jsonPath("$[0].url").value("/v2/api-docs?group=exported"));
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+    }
+}
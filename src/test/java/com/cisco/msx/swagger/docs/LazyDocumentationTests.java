@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.docs;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * LazyDocumentationTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={LazyDocumentationTests.LocalTestConfiguration.class})
+@WebMvcTest(LazyDocumentationTests.TestController.class)
+@TestPropertySource(properties = {
+        "swagger.bootstrap=lazy",
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class LazyDocumentationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LazyDocumentationBootstrapper lazyDocumentationBootstrapper;
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testFirstRequestWaitsForDocumentation() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .accept(MediaType.APPLICATION_JSON)
+                .param("group", "default-api")
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.paths['/api/lazy']").exists());
+
+        assertEquals(true, lazyDocumentationBootstrapper.isBootstrapped());
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @RestController
+    @RequestMapping("/api")
+    public static class TestController {
+        @GetMapping("lazy")
+        public String lazy() {
+            return "lazy";
+        }
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public TestController testController() {
+            return new TestController();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.index;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ApiIndexProcessorTests
+ */
+public class ApiIndexProcessorTests {
+
+    static final String SOURCE = String.join("\n",
+            "package example;",
+            "import org.springframework.web.bind.annotation.*;",
+            "import springfox.documentation.annotations.ApiIgnore;",
+            "import java.util.List;",
+            "@RestController",
+            "@RequestMapping(\"/api/items\")",
+            "public class ItemController {",
+            "    @GetMapping public List<Item> list() { return null; }",
+            "    @PostMapping public Item create(@RequestBody NewItem item) { return null; }",
+            "    @ApiIgnore @DeleteMapping public void purge() { }",
+            "    public void helper() { }",
+            "    public static class Item { }",
+            "    public static class NewItem { }",
+            "    @ApiIgnore @RestController",
+            "    public static class IgnoredController {",
+            "        @GetMapping(\"/ignored\") public String ignored() { return null; }",
+            "    }",
+            "}");
+
+    static final String API_SOURCE = String.join("\n",
+            "package example;",
+            "import org.springframework.web.bind.annotation.*;",
+            "import springfox.documentation.annotations.ApiIgnore;",
+            "import java.util.List;",
+            "@RequestMapping(\"/api/orders\")",
+            "public interface OrderApi {",
+            "    @GetMapping List<Order> list();",
+            "    @PostMapping Order create(@RequestBody NewOrder order);",
+            "    @ApiIgnore @DeleteMapping void purge();",
+            "    class Order { }",
+            "    class NewOrder { }",
+            "}");
+
+    static final String BASE_SOURCE = String.join("\n",
+            "package example;",
+            "import org.springframework.web.bind.annotation.*;",
+            "public abstract class BaseController {",
+            "    @GetMapping(\"/api/orders/health\") public String health() { return null; }",
+            "}");
+
+    static final String IMPLEMENTATION_SOURCE = String.join("\n",
+            "package example;",
+            "import org.springframework.web.bind.annotation.RestController;",
+            "import java.util.List;",
+            "@RestController",
+            "public class OrderController extends BaseController implements OrderApi {",
+            "    @Override public List<Order> list() { return null; }",
+            "    @Override public Order create(NewOrder order) { return null; }",
+            "    @Override public void purge() { }",
+            "    public void helper() { }",
+            "}");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testIndex() throws Exception {
+        try (URLClassLoader classLoader = compile(Map.of("ItemController", SOURCE))) {
+            ApiIndex index = ApiIndex.load(classLoader);
+            assertEquals(Set.of("example.ItemController"), index.getControllers());
+            assertEquals(Set.of("example.ItemController#list", "example.ItemController#create"), index.getOperations());
+            assertEquals(Set.of("example.ItemController$Item", "example.ItemController$NewItem"), index.getModels());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testInheritedMappings() throws Exception {
+        try (URLClassLoader classLoader = compile(Map.of(
+                "OrderApi", API_SOURCE,
+                "BaseController", BASE_SOURCE,
+                "OrderController", IMPLEMENTATION_SOURCE))) {
+            ApiIndex index = ApiIndex.load(classLoader);
+            assertEquals(Set.of("example.OrderController"), index.getControllers());
+            assertEquals(Set.of("example.OrderController#list", "example.OrderController#create", "example.OrderController#health"),
+                    index.getOperations());
+            assertEquals(Set.of("example.OrderApi$Order", "example.OrderApi$NewOrder"), index.getModels());
+        }
+    }
+
+    private URLClassLoader compile(Map<String, String> sources) throws Exception {
+        Path sourceDirectory = Files.createDirectories(temporaryFolder.newFolder().toPath().resolve("example"));
+        Path classes = temporaryFolder.newFolder("classes").toPath();
+        List<File> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = sourceDirectory.resolve(source.getKey() + ".java");
+            Files.write(file, source.getValue().getBytes(StandardCharsets.UTF_8));
+            files.add(file.toFile());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<String> options = List.of(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", classes.toString(),
+                    "-proc:only");
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(List.of(new ApiIndexProcessor()));
+            assertTrue(task.call());
+        }
+        return new URLClassLoader(new URL[] {classes.toUri().toURL()}, null);
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testNoIndex() throws Exception {
+        File empty = temporaryFolder.newFolder("empty");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {empty.toURI().toURL()}, null)) {
+            assertNull(ApiIndex.load(classLoader));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.plugins;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import com.cisco.msx.swagger.docs.ApiDocsSource;
+import com.cisco.msx.swagger.docs.DocumentationApiDocsSource;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * ParallelDocumentationTests. Documents the same API groups one after the other and concurrently, and compares
+ * the rendered documentation of every group.
+ */
+public class ParallelDocumentationTests {
+
+    private static final String[] GROUPS = {
+            "swagger.groups.orders.paths=/api/v1/orders/**",
+            "swagger.groups.orders.title=Orders API",
+            "swagger.groups.items.paths=/api/v1/items/**",
+            "swagger.groups.items.title=Items API",
+            "swagger.groups.users.paths=/api/v1/users/**",
+            "swagger.groups.users.title=Users API",
+            "swagger.groups.v1.paths=/api/v1/**",
+            "swagger.groups.v1.title=V1 API",
+    };
+
+    @Test
+    public void testConcurrentMatchesSequential() {
+        Map<String, String> sequential = document("swagger.bootstrapParallel=false");
+        Map<String, String> concurrent = document("swagger.bootstrapParallel=true", "swagger.bootstrapThreads=4");
+
+        assertTrue(sequential.keySet().containsAll(List.of("orders", "items", "users", "v1")));
+        assertEquals(sequential, concurrent);
+    }
+
+    @Test
+    public void testBuildContextMethod() {
+        assertNotNull(ParallelDocumentationPostProcessor.buildContextMethod(DocumentationPluginsBootstrapper.class));
+    }
+
+    @Test
+    public void testBuildContextMethodMissing() {
+        try {
+            ParallelDocumentationPostProcessor.buildContextMethod(Object.class);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("buildContext"));
+            assertTrue(e.getMessage().contains("swagger.bootstrapParallel=false"));
+        }
+    }
+
+    /**
+     * Hash of the rendered documentation of every group
+     */
+    private static Map<String, String> document(String... properties) {
+        List<String> allProperties = new ArrayList<>(List.of(GROUPS));
+        allProperties.addAll(List.of(properties));
+        allProperties.addAll(List.of("server.port=0", "spring.main.banner-mode=off"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LocalTestConfiguration.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(allProperties.toArray(new String[0]))
+                .run()) {
+            ApiDocsSource source = new DocumentationApiDocsSource(
+                    context.getBean(DocumentationCache.class),
+                    context.getBean(ServiceModelToSwagger2Mapper.class),
+                    DocumentationApiDocsSource.swaggerObjectMapper(
+                            new JsonFactory(),
+                            new ArrayList<>(context.getBeansOfType(JacksonModuleRegistrar.class).values())));
+            Map<String, String> hashes = new TreeMap<>();
+            for (String group : source.groupNames()) {
+                hashes.put(group, source.render(group, source.version(group)).getHash());
+            }
+            return hashes;
+        }
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    public static class Item {
+        public String id;
+        public String name;
+        public List<Item> parts;
+    }
+
+    public static class Order {
+        public String id;
+        public List<Item> items;
+        public User customer;
+    }
+
+    public static class User {
+        public String id;
+        public String name;
+    }
+
+    @RestController
+    @RequestMapping("/api/v1/orders")
+    public static class TestOrderController {
+        @GetMapping("{id}")
+        public Order getOrder(@PathVariable String id) {
+            return new Order();
+        }
+
+        @PostMapping
+        public Order createOrder(@RequestBody Order order) {
+            return order;
+        }
+    }
+
+    @RestController
+    @RequestMapping("/api/v1/items")
+    public static class TestItemController {
+        @GetMapping("{id}")
+        public Item getItem(@PathVariable String id) {
+            return new Item();
+        }
+
+        @PostMapping
+        public Item createItem(@RequestBody Item item) {
+            return item;
+        }
+    }
+
+    @RestController
+    @RequestMapping("/api/v1/users")
+    public static class TestUserController {
+        @GetMapping("{id}")
+        public User getUser(@PathVariable String id) {
+            return new User();
+        }
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            SwaggerAutoConfiguration.class,
+    })
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public TestOrderController testOrderController() {
+            return new TestOrderController();
+        }
+
+        @Bean
+        public TestItemController testItemController() {
+            return new TestItemController();
+        }
+
+        @Bean
+        public TestUserController testUserController() {
+            return new TestUserController();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.publish;
+
+import com.cisco.msx.swagger.docs.ApiDocs;
+import com.cisco.msx.swagger.docs.ApiDocsCache;
+import com.cisco.msx.swagger.docs.ApiDocsSource;
+import com.ecwid.consul.v1.ConsulClient;
+import com.ecwid.consul.v1.Response;
+import com.ecwid.consul.v1.kv.model.GetValue;
+import com.ecwid.consul.v1.kv.model.PutParams;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ApiDocsPublisherTests
+ */
+public class ApiDocsPublisherTests {
+
+    static final String SERVICE = "inventory";
+    static final String GROUP = "published";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testPublishOnChange() throws Exception {
+        DirectoryApiDocsSink sink = new DirectoryApiDocsSink(temporaryFolder.getRoot().toPath());
+        byte[] docs = "{\"swagger\":\"2.0\",\"info\":{\"version\":\"1\"}}".getBytes(StandardCharsets.UTF_8);
+
+        ApiDocsPublisher replica = publisher(sink, docs);
+        assertEquals(1, replica.publish());
+        assertEquals("unchanged documents aren't published twice", 0, replica.publish());
+
+        Path serviceDirectory = sink.getDirectory().resolve(SERVICE);
+        assertArrayEquals(docs, Files.readAllBytes(serviceDirectory.resolve(GROUP + DirectoryApiDocsSink.DOCS_EXTENSION)));
+        assertEquals(ApiDocs.of(docs.clone()).getHash(), sink.publishedHash(SERVICE, GROUP));
+
+        assertEquals("replicas sharing the hash don't publish", 0, publisher(sink, docs).publish());
+        assertFalse(sink.publish(SERVICE, GROUP, ApiDocs.of(docs.clone())));
+
+        byte[] changed = "{\"swagger\":\"2.0\",\"info\":{\"version\":\"2\"}}".getBytes(StandardCharsets.UTF_8);
+        assertEquals(1, publisher(sink, changed).publish());
+        assertEquals(ApiDocs.of(changed.clone()).getHash(), sink.publishedHash(SERVICE, GROUP));
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testConsulCheckAndSet() throws Exception {
+        ConsulClient consulClient = mock(ConsulClient.class);
+        ConsulApiDocsSink sink = new ConsulApiDocsSink(() -> consulClient, "prefix", null);
+        String hashKey = sink.key(SERVICE, GROUP, ConsulApiDocsSink.HASH_KEY);
+        String docsKey = sink.key(SERVICE, GROUP, ConsulApiDocsSink.DOCS_KEY);
+        ApiDocs docs = ApiDocs.of("{\"swagger\":\"2.0\"}".getBytes(StandardCharsets.UTF_8));
+
+        when(consulClient.getKVValue(hashKey, null)).thenReturn(response(value("old-hash", 7L)));
+        when(consulClient.getKVValue(docsKey, null)).thenReturn(response(null));
+        when(consulClient.setKVBinaryValue(eq(docsKey), any(byte[].class), isNull(), any(PutParams.class))).thenReturn(response(true));
+        when(consulClient.setKVValue(eq(hashKey), eq(docs.getHash()), isNull(), any(PutParams.class))).thenReturn(response(true));
+        assertTrue(sink.publish(SERVICE, GROUP, docs));
+
+        // document first, only if still missing, then the hash, only if still the one compared
+        InOrder inOrder = inOrder(consulClient);
+        ArgumentCaptor<PutParams> docsParams = ArgumentCaptor.forClass(PutParams.class);
+        ArgumentCaptor<PutParams> hashParams = ArgumentCaptor.forClass(PutParams.class);
+        inOrder.verify(consulClient).setKVBinaryValue(eq(docsKey), any(byte[].class), isNull(), docsParams.capture());
+        inOrder.verify(consulClient).setKVValue(eq(hashKey), eq(docs.getHash()), isNull(), hashParams.capture());
+        assertEquals(Long.valueOf(0L), docsParams.getValue().getCas());
+        assertEquals(Long.valueOf(7L), hashParams.getValue().getCas());
+
+        // another instance replaced the hash meanwhile
+        when(consulClient.setKVValue(eq(hashKey), eq(docs.getHash()), isNull(), any(PutParams.class))).thenReturn(response(false));
+        assertFalse(sink.publish(SERVICE, GROUP, docs));
+
+        when(consulClient.getKVValue(hashKey, null)).thenReturn(response(value(docs.getHash(), 8L)));
+        assertFalse(sink.publish(SERVICE, GROUP, docs));
+    }
+
+    private static <T> Response<T> response(T value) {
+        return new Response<>(value, 1L, true, 0L);
+    }
+
+    private static GetValue value(String value, long modifyIndex) {
+        GetValue getValue = new GetValue();
+        getValue.setValue(Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)));
+        getValue.setModifyIndex(modifyIndex);
+        return getValue;
+    }
+
+    private static ApiDocsPublisher publisher(ApiDocsSink sink, byte[] docs) {
+        return new ApiDocsPublisher(new ApiDocsCache(new TestApiDocsSource(docs), new ObjectMapper(), 1), null, sink, SERVICE);
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    static class TestApiDocsSource implements ApiDocsSource {
+        private final Object version = new Object();
+        private final byte[] docs;
+
+        TestApiDocsSource(byte[] docs) {
+            this.docs = docs;
+        }
+
+        @Override
+        public Set<String> groupNames() {
+            return Set.of(GROUP);
+        }
+
+        @Override
+        public Object version(String group) {
+            return GROUP.equals(group) ? version : null;
+        }
+
+        @Override
+        public ApiDocs render(String group, Object version) {
+            return ApiDocs.of(docs.clone());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.schema;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+import org.junit.Test;
+import springfox.documentation.schema.AlternateTypeRule;
+import springfox.documentation.schema.WildcardType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static springfox.documentation.schema.AlternateTypeRules.newRule;
+
+/**
+ * IndexedAlternateTypeRuleTests
+ */
+public class IndexedAlternateTypeRuleTests {
+
+    private final TypeResolver typeResolver = new TypeResolver();
+
+    @Test
+    public void testIndexedResolution() {
+        List<AlternateTypeRule> rules = List.of(
+                newRule(LocalDate.class, String.class),
+                newRule(typeResolver.resolve(Optional.class, WildcardType.class), typeResolver.resolve(WildcardType.class)),
+                newRule(LocalDate.class, Long.class));
+        List<IndexedAlternateTypeRule> indexed = IndexedAlternateTypeRule.index(rules);
+        assertEquals(1, indexed.size());
+        IndexedAlternateTypeRule rule = indexed.get(0);
+
+        ResolvedType date = typeResolver.resolve(LocalDate.class);
+        assertTrue(rule.appliesTo(date));
+        // first registered rule wins
+        assertEquals(typeResolver.resolve(String.class), rule.alternateFor(date));
+
+        ResolvedType optionalInteger = typeResolver.resolve(Optional.class, Integer.class);
+        assertTrue(rule.appliesTo(optionalInteger));
+        assertEquals(typeResolver.resolve(Integer.class), rule.alternateFor(optionalInteger));
+
+        ResolvedType integer = typeResolver.resolve(Integer.class);
+        assertFalse(rule.appliesTo(integer));
+        assertEquals(integer, rule.alternateFor(integer));
+
+        assertEquals(3, rule.getMisses());
+        assertEquals(3, rule.getHits());
+    }
+
+    @Test
+    public void testGroupedByOrder() {
+        List<IndexedAlternateTypeRule> indexed = IndexedAlternateTypeRule.index(List.of(
+                newRule(LocalDate.class, String.class),
+                newRule(LocalDate.class, Long.class, 10)));
+        assertEquals(2, indexed.size());
+        assertEquals(10, indexed.get(1).getOrder());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.security;
+
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import springfox.documentation.service.AuthorizationScope;
+import springfox.documentation.service.SecurityReference;
+import springfox.documentation.spi.service.contexts.OperationContext;
+import springfox.documentation.spi.service.contexts.SecurityContext;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SecurityReferenceIndexTests
+ */
+public class SecurityReferenceIndexTests {
+
+    private final AtomicInteger selections = new AtomicInteger();
+
+    @Test
+    public void testReferencesMergedFromContexts() {
+        SecurityReferenceIndex index = new SecurityReferenceIndex(List.of(
+                securityContext("oauth2", "/api/"),
+                securityContext("apiKey", "/api/admin/"),
+                securityContext("basic", "/internal/")));
+
+        List<SecurityReference> references = index.securityForOperation(operation(HttpMethod.GET, "/api/admin/users"));
+        assertEquals(List.of("oauth2", "apiKey"), names(references));
+        assertEquals(List.of("oauth2"), names(index.securityForOperation(operation(HttpMethod.GET, "/api/users"))));
+        assertEquals(List.of("oauth2", "apiKey", "basic"), names(index.getSecurityReferences()));
+
+        // resolved once per method and pattern
+        int swept = selections.get();
+        assertSame(references, index.securityForOperation(operation(HttpMethod.GET, "/api/admin/users")));
+        assertEquals(swept, selections.get());
+        assertEquals(List.of("oauth2", "apiKey"), names(index.securityForOperation(operation(HttpMethod.POST, "/api/admin/users"))));
+        assertEquals(swept + 3, selections.get());
+    }
+
+    @Test
+    public void testUncoveredOperation() {
+        SecurityReferenceIndex index = new SecurityReferenceIndex(List.of(securityContext("oauth2", "/api/")));
+        assertNull(index.securityForOperation(operation(HttpMethod.GET, "/health")));
+        assertNull(index.securityForOperation(operation(HttpMethod.GET, "/health")));
+    }
+
+    @Test
+    public void testIntern() {
+        SecurityReferenceIndex.ScopeInterner interner = new SecurityReferenceIndex.ScopeInterner();
+        AuthorizationScope read = new AuthorizationScope("read", "Read access");
+        AuthorizationScope[] first = interner.intern(List.of(read, new AuthorizationScope("write", "Write access")));
+        AuthorizationScope[] second = interner.intern(List.of(
+                new AuthorizationScope("read", "Read access"),
+                new AuthorizationScope("read", "Other description")));
+
+        assertSame(read, first[0]);
+        assertSame(read, second[0]);
+        assertNotSame(read, second[1]);
+        assertEquals(3, interner.size());
+
+        // not shared between interners, e.g. of other application contexts
+        assertNotSame(read, new SecurityReferenceIndex.ScopeInterner().intern(List.of(new AuthorizationScope("read", "Read access")))[0]);
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    private SecurityContext securityContext(String reference, String pathPrefix) {
+        return SecurityContext.builder()
+                .securityReferences(List.of(SecurityReference.builder()
+                        .reference(reference)
+                        .scopes(new AuthorizationScope[0])
+                        .build()))
+                .operationSelector(operationContext -> {
+                    selections.incrementAndGet();
+                    return operationContext.requestMappingPattern().startsWith(pathPrefix);
+                })
+                .build();
+    }
+
+    private static OperationContext operation(HttpMethod method, String pattern) {
+        OperationContext operationContext = mock(OperationContext.class);
+        when(operationContext.httpMethod()).thenReturn(method);
+        when(operationContext.requestMappingPattern()).thenReturn(pattern);
+        return operationContext;
+    }
+
+    private static List<String> names(List<SecurityReference> references) {
+        return references.stream().map(SecurityReference::getReference).collect(Collectors.toList());
+    }
+}
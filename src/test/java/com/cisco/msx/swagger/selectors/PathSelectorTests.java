@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.selectors;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * PathSelectorTests
+ */
+public class PathSelectorTests {
+
+    @Test
+    public void testPrefix() {
+        PathSelector selector = PathSelector.builder().includePrefix("/api/").build();
+        assertTrue(selector.test("/api/v1/items/{id}"));
+        assertTrue(selector.test("/api/"));
+        assertFalse(selector.test("/api"));
+        assertFalse(selector.test("/admin/api/v1"));
+    }
+
+    @Test
+    public void testAntPatterns() {
+        PathSelector selector = PathSelector.builder()
+                .includeAnt("/api/v1/**", "/api/*/users/{id}", "/health")
+                .excludeAnt("/api/v1/internal/**")
+                .build();
+        assertTrue(selector.test("/api/v1"));
+        assertTrue(selector.test("/api/v1/items"));
+        assertTrue(selector.test("/api/v2/users/{id}"));
+        assertTrue(selector.test("/health"));
+        assertFalse(selector.test("/healthz"));
+        assertFalse(selector.test("/api/v2/items"));
+        assertFalse(selector.test("/api/v1/internal/jobs"));
+    }
+
+    @Test
+    public void testNoIncludesSelectsAll() {
+        PathSelector selector = PathSelector.builder().excludePrefix("/error").build();
+        assertTrue(selector.test("/anything"));
+        assertFalse(selector.test("/error"));
+    }
+
+    @Test
+    public void testMemoizedDecisions() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Predicate<String> wrapped = PathSelector.builder().includePrefix("/api/").build()
+                .and(path -> evaluations.incrementAndGet() > 0 && !path.endsWith("/hidden"));
+        Predicate<String> memoized = PathSelector.memoize(wrapped);
+
+        assertTrue(memoized.test("/api/items"));
+        assertTrue(memoized.test("/api/items"));
+        assertFalse(memoized.test("/api/hidden"));
+        assertFalse(memoized.test("/api/hidden"));
+        assertEquals(2, evaluations.get());
+        assertSame(memoized, PathSelector.memoize(memoized));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.swagger.ui;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * WebJarManifestTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={WebJarManifestTests.LocalTestConfiguration.class})
+@WebMvcTest
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class WebJarManifestTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testVersioned() {
+        WebJarManifest manifest = new WebJarManifest(Map.of("swagger-ui", "3.31.1"));
+
+        assertEquals("swagger-ui/3.31.1/swagger-ui.css", manifest.versioned("swagger-ui/swagger-ui.css"));
+        assertNull(manifest.versioned("swagger-ui/3.31.1/swagger-ui.css"));
+        assertNull(manifest.versioned("unknown/file.js"));
+        assertNull(manifest.versioned("swagger-ui.css"));
+    }
+
+    @Test
+    public void testBuildTimeManifest() {
+        WebJarManifest manifest = WebJarManifest.load(getClass().getClassLoader());
+        String version = manifest.getVersions().get("swagger-ui");
+
+        assertTrue("manifest is generated by the build",
+                new ClassPathResource("META-INF/resources/webjars/" + manifest.versioned("swagger-ui/swagger-ui.css")).exists());
+        assertEquals("swagger-ui/" + version + "/swagger-ui-bundle.js", manifest.versioned("swagger-ui/swagger-ui-bundle.js"));
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testVersionlessWebJarResource() throws Exception {
+        mockMvc.perform(get("/webjars/swagger-ui/swagger-ui.css"))
+                .andExpect(status().isOk());
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+    }
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.test;
+
+/**
+ * PerformanceTest. JUnit category of timing and memory dependent tests, excluded from the default build and
+ * run with the "performance-tests" profile.
+ */
+public interface PerformanceTest {
+}
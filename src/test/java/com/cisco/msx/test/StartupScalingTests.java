@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.test;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import com.cisco.msx.swagger.docs.ApiDocsSource;
+import com.cisco.msx.swagger.docs.DocumentationApiDocsSource;
+import com.cisco.msx.test.fixture.SyntheticApiGenerator;
+import com.fasterxml.jackson.core.JsonFactory;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JacksonModuleRegistrar;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * StartupScalingTests. Boots {@link SwaggerAutoConfiguration} against generated APIs of increasing size and
+ * records context start time, heap after GC and spec size. Fails when any of them grows superlinearly
+ * compared to the checked-in baseline "startup-scaling-baseline.properties".
+ *
+ * Only the spec size check runs with the unit tests, start time and heap are checked with the "performance-tests"
+ * profile. Measurements are written to "target/startup-scaling.properties".
+ */
+@Slf4j
+public class StartupScalingTests {
+
+    private static final String BASELINE = "startup-scaling-baseline.properties";
+    private static final Path RESULTS = Paths.get("target", "startup-scaling.properties");
+
+    @Value
+    static class Measurement {
+        int operations;
+        double startMs;
+        double heapBytes;
+        double specBytes;
+
+        double get(String metric) {
+            switch (metric) {
+                case "startMs": return startMs;
+                case "heapBytes": return heapBytes;
+                case "specBytes": return specBytes;
+                default: throw new IllegalArgumentException("Unknown metric " + metric);
+            }
+        }
+    }
+
+    private static Properties baseline;
+    private static Measurement empty;
+    private static Measurement smallApi;
+    private static Measurement largeApi;
+
+    @BeforeClass
+    @SuppressWarnings("squid:S00112")
+    public static void measureAll() throws Exception {
+        baseline = PropertiesLoaderUtils.loadProperties(new ClassPathResource(BASELINE));
+        int operations = Integer.parseInt(baseline.getProperty("operations"));
+        int depth = Integer.parseInt(baseline.getProperty("depth"));
+        int small = Integer.parseInt(baseline.getProperty("small.controllers"));
+        int large = Integer.parseInt(baseline.getProperty("large.controllers"));
+
+        // first start pays class loading and JIT for all sizes
+        measure(0, operations, depth);
+        empty = measure(0, operations, depth);
+        smallApi = measure(small, operations, depth);
+        largeApi = measure(large, operations, depth);
+        record(empty, smallApi, largeApi);
+    }
+
+    @Test
+    public void testSpecScalesLinearly() {
+        assertTrue("Default API group is not documented", largeApi.getSpecBytes() > smallApi.getSpecBytes());
+        assertLinear("specBytes");
+    }
+
+    /**
+     * Wall clock and heap readings depend on the machine, only run with the "performance-tests" profile
+     */
+    @Test
+    @Category(PerformanceTest.class)
+    public void testStartupScalesLinearly() {
+        assertLinear("startMs");
+        assertLinear("heapBytes");
+    }
+
+    private static void assertLinear(String metric) {
+        double maxRatio = Double.parseDouble(baseline.getProperty(metric + ".maxRatio"));
+        double minPerOperation = Double.parseDouble(baseline.getProperty(metric + ".minPerOperation"));
+        double smallPerOperation = Math.max(minPerOperation, perOperation(metric, empty, smallApi));
+        double largePerOperation = Math.max(minPerOperation, perOperation(metric, empty, largeApi));
+        double ratio = largePerOperation / smallPerOperation;
+        log.info("{}: {} per operation with {} operations, {} with {} operations, ratio {}",
+                metric, smallPerOperation, smallApi.getOperations(), largePerOperation, largeApi.getOperations(), ratio);
+        assertTrue(String.format("%s grows superlinearly: ratio %.2f exceeds baseline %.2f", metric, ratio, maxRatio),
+                ratio <= maxRatio);
+    }
+
+    private static double perOperation(String metric, Measurement empty, Measurement measurement) {
+        return (measurement.get(metric) - empty.get(metric)) / measurement.getOperations();
+    }
+
+    private static Measurement measure(int controllers, int operations, int depth) {
+        List<Class<?>> generated = new SyntheticApiGenerator(StartupScalingTests.class.getClassLoader())
+                .generate(controllers, operations, depth);
+        ApplicationContextInitializer<GenericApplicationContext> registrar =
+                context -> generated.forEach(controller -> context.registerBean(controller));
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LocalTestConfiguration.class)
+                .web(WebApplicationType.SERVLET)
+                .initializers(registrar)
+                .properties("server.port=0", "spring.main.banner-mode=off")
+                .run()) {
+            double startMs = (System.nanoTime() - start) / 1_000_000d;
+            ApiDocsSource source = new DocumentationApiDocsSource(
+                    context.getBean(DocumentationCache.class),
+                    context.getBean(ServiceModelToSwagger2Mapper.class),
+                    DocumentationApiDocsSource.swaggerObjectMapper(
+                            new JsonFactory(),
+                            new ArrayList<>(context.getBeansOfType(JacksonModuleRegistrar.class).values())));
+            String groupName = context.getBean("swaggerDocket", Docket.class).getGroupName();
+            int specBytes = source.render(groupName, source.version(groupName)).getSize();
+            return new Measurement(controllers * operations, startMs, heapAfterGc(), specBytes);
+        }
+    }
+
+    @SuppressWarnings("squid:S1215")
+    private static double heapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void record(Measurement... measurements) throws IOException {
+        Properties results = new Properties();
+        for (Measurement measurement : measurements) {
+            String prefix = measurement.getOperations() + ".";
+            results.setProperty(prefix + "startMs", String.valueOf(measurement.getStartMs()));
+            results.setProperty(prefix + "heapBytes", String.valueOf(measurement.getHeapBytes()));
+            results.setProperty(prefix + "specBytes", String.valueOf(measurement.getSpecBytes()));
+        }
+        Files.createDirectories(RESULTS.getParent());
+        try (OutputStream out = Files.newOutputStream(RESULTS)) {
+            results.store(out, "StartupScalingTests: <operations>.<metric>");
+        }
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @TestConfiguration
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            SwaggerAutoConfiguration.class,
+    })
+    public static class LocalTestConfiguration {
+    }
+}
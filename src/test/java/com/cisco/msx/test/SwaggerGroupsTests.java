@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.test;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import com.cisco.msx.swagger.plugins.CachingRequestHandlerProvider;
+import com.cisco.msx.swagger.plugins.ParallelDocumentationPostProcessor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SwaggerGroupsTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={SwaggerGroupsTests.LocalTestConfiguration.class})
+@WebMvcTest({
+        SwaggerGroupsTests.TestV1Controller.class,
+        SwaggerGroupsTests.TestV2Controller.class,
+})
+@TestPropertySource(properties = {
+        "swagger.groups.v1.paths=/api/v1/**",
+        "swagger.groups.v1.title=V1 API",
+        "swagger.groups.v1.version=1.0",
+        "swagger.groups.v2.paths=/api/v2/**",
+        "swagger.groups.v2.title=V2 API",
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class SwaggerGroupsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ParallelDocumentationPostProcessor parallelDocumentationPostProcessor;
+
+    @Autowired
+    private ObjectProvider<RequestHandlerProvider> requestHandlerProviders;
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testPropertyGroups() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .accept(MediaType.APPLICATION_JSON)
+                .param("group", "v1")
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.info.title").value("V1 API"))
+        .andExpect(jsonPath("$.info.version").value("1.0"))
+        .andExpect(jsonPath("$.paths['/api/v1/do']").exists())
+        .andExpect(jsonPath("$.paths['/api/v2/do']").doesNotExist());
+
+        mockMvc.perform(get("/v2/api-docs")
+                .accept(MediaType.APPLICATION_JSON)
+                .param("group", "v2")
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.info.title").value("V2 API"))
+        .andExpect(jsonPath("$.paths['/api/v2/do']").exists())
+        .andExpect(jsonPath("$.paths['/api/v1/do']").doesNotExist());
+    }
+
+    @Test
+    @SuppressWarnings("squid:S00112")
+    public void testDefaultGroupRemains() throws Exception {
+        mockMvc.perform(get("/v2/api-docs")
+                .accept(MediaType.APPLICATION_JSON)
+                .param("group", "default-api")
+        ).andExpect(status().isOk())
+        .andExpect(jsonPath("$.paths['/api/v1/do']").exists())
+        .andExpect(jsonPath("$.paths['/api/v2/do']").exists());
+    }
+
+    @Test
+    public void testHandlerScanResetAfterDocumentation() {
+        assertNotNull(parallelDocumentationPostProcessor);
+
+        List<CachingRequestHandlerProvider> providers = requestHandlerProviders.orderedStream()
+                .filter(CachingRequestHandlerProvider.class::isInstance)
+                .map(CachingRequestHandlerProvider.class::cast)
+                .collect(Collectors.toList());
+        assertFalse(providers.isEmpty());
+        providers.forEach(provider -> assertNull(ReflectionTestUtils.getField(provider, "requestHandlers")));
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @RestController
+    @RequestMapping("/api/v1")
+    public static class TestV1Controller {
+        @GetMapping("do")
+        public String doAction() {
+            return "v1";
+        }
+    }
+
+    @RestController
+    @RequestMapping("/api/v2")
+    public static class TestV2Controller {
+        @GetMapping("do")
+        public String doAction() {
+            return "v2";
+        }
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public TestV1Controller testV1Controller() {
+            return new TestV1Controller();
+        }
+
+        @Bean
+        public TestV2Controller testV2Controller() {
+            return new TestV2Controller();
+        }
+    }
+}
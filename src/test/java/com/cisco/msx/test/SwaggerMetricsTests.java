@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.test;
+
+import com.cisco.msx.autoconfigure.swagger.SwaggerAutoConfiguration;
+import com.cisco.msx.swagger.SwaggerConfigurer;
+import com.cisco.msx.swagger.metrics.MicrometerSwaggerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import springfox.documentation.builders.ApiInfoBuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * SwaggerMetricsTests
+ */
+@ActiveProfiles("test")
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes={SwaggerMetricsTests.LocalTestConfiguration.class})
+@WebMvcTest({
+        SwaggerMetricsTests.TestController.class,
+})
+@ImportAutoConfiguration({
+        SwaggerAutoConfiguration.class
+})
+public class SwaggerMetricsTests {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testConfigurerHooksTimed() {
+        assertNotNull(meterRegistry.find(MicrometerSwaggerMetrics.CONFIGURER_TIMER)
+                .tags("configurer", TestSwaggerConfigurer.class.getName(), "hook", "configureApiInfo")
+                .timer());
+        assertNotNull(meterRegistry.find(MicrometerSwaggerMetrics.CONFIGURER_TIMER)
+                .tags("configurer", TestSwaggerConfigurer.class.getName(), "hook", "configure")
+                .timer());
+    }
+
+    @Test
+    public void testDocumentationPhasesTimed() {
+        assertNotNull(meterRegistry.find(MicrometerSwaggerMetrics.PHASE_TIMER)
+                .tags("phase", "handlers")
+                .timer());
+        assertNotNull(meterRegistry.find(MicrometerSwaggerMetrics.PHASE_TIMER)
+                .tags("phase", "scan", "group", "default-api")
+                .timer());
+    }
+
+    @Test
+    public void testGroupCounts() {
+        assertEquals(2, meterRegistry.get(MicrometerSwaggerMetrics.PATHS_GAUGE).tags("group", "default-api").gauge().value(), 0);
+        assertEquals(2, meterRegistry.get(MicrometerSwaggerMetrics.OPERATIONS_GAUGE).tags("group", "default-api").gauge().value(), 0);
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    @RestController
+    @RequestMapping("/api/v1")
+    public static class TestController {
+        @GetMapping("first")
+        public String first() {
+            return "first";
+        }
+
+        @GetMapping("second")
+        public String second() {
+            return "second";
+        }
+    }
+
+    public static class TestSwaggerConfigurer implements SwaggerConfigurer {
+        @Override
+        public ApiInfoBuilder configureApiInfo(ApiInfoBuilder apiInfo) {
+            return apiInfo.title("Metrics API");
+        }
+    }
+
+    @TestConfiguration
+    @SpringBootConfiguration
+    public static class LocalTestConfiguration {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public TestSwaggerConfigurer testSwaggerConfigurer() {
+            return new TestSwaggerConfigurer();
+        }
+
+        @Bean
+        public TestController testController() {
+            return new TestController();
+        }
+    }
+}
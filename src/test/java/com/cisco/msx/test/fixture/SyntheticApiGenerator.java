@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.test.fixture;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.StubMethod;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SyntheticApiGenerator. Generates, with ByteBuddy, N REST controllers of M operations each. Every controller
+ * has its own DTO graph of the given depth: each level has scalar properties, a single child and a list of
+ * children of the next level.
+ *
+ * Controllers are mapped to "/api/generated/c&lt;n&gt;" so they are covered by the default Docket.
+ */
+public class SyntheticApiGenerator {
+
+    public static final String PACKAGE = "com.cisco.msx.test.generated";
+    public static final String BASE_PATH = "/api/generated";
+
+    private final ByteBuddy byteBuddy = new ByteBuddy();
+    private final ClassLoader parent;
+
+    public SyntheticApiGenerator(ClassLoader parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * @param controllers number of controllers
+     * @param operations number of operations per controller
+     * @param depth depth of each controller's DTO graph
+     * @return the loaded controller classes
+     */
+    public List<Class<?>> generate(int controllers, int operations, int depth) {
+        List<Class<?>> generated = new ArrayList<>(controllers);
+        for (int c = 0; c < controllers; c++) {
+            List<DynamicType.Unloaded<?>> dtos = dtoGraph(c, depth);
+            TypeDescription root = dtos.get(dtos.size() - 1).getTypeDescription();
+            generated.add(controller(c, operations, root)
+                    .include(new ArrayList<>(dtos))
+                    .load(parent, ClassLoadingStrategy.Default.WRAPPER)
+                    .getLoaded());
+        }
+        return generated;
+    }
+
+    /**
+     * @return DTOs from the deepest level to the root
+     */
+    private List<DynamicType.Unloaded<?>> dtoGraph(int controller, int depth) {
+        List<DynamicType.Unloaded<?>> dtos = new ArrayList<>(depth);
+        TypeDescription child = null;
+        for (int level = Math.max(1, depth) - 1; level >= 0; level--) {
+            DynamicType.Builder<Object> dto = byteBuddy.subclass(Object.class)
+                    .name(PACKAGE + ".Controller" + controller + "Dto" + level)
+                    .defineProperty("id", String.class)
+                    .defineProperty("name", String.class)
+                    .defineProperty("count", Integer.class)
+                    .defineProperty("enabled", Boolean.class)
+                    .defineProperty("labels", TypeDescription.Generic.Builder.parameterizedType(List.class, String.class).build());
+            if (child != null) {
+                dto = dto.defineProperty("child", child)
+                        .defineProperty("children", TypeDescription.Generic.Builder
+                                .parameterizedType(TypeDescription.ForLoadedType.of(List.class), child).build());
+            }
+            DynamicType.Unloaded<Object> unloaded = dto.make();
+            dtos.add(unloaded);
+            child = unloaded.getTypeDescription();
+        }
+        return dtos;
+    }
+
+    private DynamicType.Unloaded<Object> controller(int controller, int operations, TypeDefinition dto) {
+        DynamicType.Builder<Object> builder = byteBuddy.subclass(Object.class)
+                .name(PACKAGE + ".Controller" + controller)
+                .annotateType(
+                        AnnotationDescription.Builder.ofType(RestController.class).build(),
+                        AnnotationDescription.Builder.ofType(RequestMapping.class)
+                                .defineArray("value", BASE_PATH + "/c" + controller)
+                                .build());
+        for (int o = 0; o < operations; o++) {
+            String path = "op" + o;
+            switch (o % 4) {
+                case 0:
+                    builder = builder.defineMethod("get" + o, dto, Visibility.PUBLIC)
+                            .withParameter(String.class, "id").annotateParameter(pathVariable())
+                            .intercept(FixedValue.nullValue())
+                            .annotateMethod(mapping(GetMapping.class, path + "/{id}"));
+                    break;
+                case 1:
+                    builder = builder.defineMethod("create" + o, dto, Visibility.PUBLIC)
+                            .withParameter(dto, "body").annotateParameter(annotation(RequestBody.class))
+                            .intercept(FixedValue.nullValue())
+                            .annotateMethod(mapping(PostMapping.class, path));
+                    break;
+                case 2:
+                    builder = builder.defineMethod("update" + o, dto, Visibility.PUBLIC)
+                            .withParameter(String.class, "id").annotateParameter(pathVariable())
+                            .withParameter(dto, "body").annotateParameter(annotation(RequestBody.class))
+                            .intercept(FixedValue.nullValue())
+                            .annotateMethod(mapping(PutMapping.class, path + "/{id}"));
+                    break;
+                default:
+                    builder = builder.defineMethod("delete" + o, void.class, Visibility.PUBLIC)
+                            .withParameter(String.class, "id").annotateParameter(pathVariable())
+                            .intercept(StubMethod.INSTANCE)
+                            .annotateMethod(mapping(DeleteMapping.class, path + "/{id}"));
+                    break;
+            }
+        }
+        return builder.make();
+    }
+
+    private static AnnotationDescription pathVariable() {
+        return AnnotationDescription.Builder.ofType(PathVariable.class).define("value", "id").build();
+    }
+
+    private static AnnotationDescription annotation(Class<? extends Annotation> type) {
+        return AnnotationDescription.Builder.ofType(type).build();
+    }
+
+    private static AnnotationDescription mapping(Class<? extends Annotation> type, String path) {
+        return AnnotationDescription.Builder.ofType(type).defineArray("value", path).build();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021. Cisco Systems, Inc and its affiliates
+ * All Rights reserved
+ */
+
+package com.cisco.msx.utils;
+
+import org.junit.Test;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * FunctionUtilsTests
+ */
+public class FunctionUtilsTests {
+
+    private final List<Object> items = List.of(
+            new Unordered("u1"), new Annotated(), new OrderedItem(5), new Unordered("u2"), new OrderedItem(-5));
+
+    @Test
+    public void testSortedMatchesComparators() {
+        assertSorted(FunctionUtils.sortedOrderedFirst(items), FunctionUtils.orderedFirst());
+        assertSorted(FunctionUtils.sortedReversedOrderedFirst(items), FunctionUtils.reversedOrderedFirst());
+        assertSorted(FunctionUtils.sortedOrderedLast(items), FunctionUtils.orderedLast());
+        assertSorted(FunctionUtils.sortedReversedOrderedLast(items), FunctionUtils.reversedOrderedLast());
+    }
+
+    @Test
+    public void testAnnotatedOrder() {
+        assertEquals(Integer.valueOf(1), FunctionUtils.findOrder(new Annotated()).orElseThrow());
+        assertEquals(Integer.valueOf(1), FunctionUtils.findOrder(Annotated.class).orElseThrow());
+    }
+
+    private void assertSorted(List<Object> sorted, Comparator<Object> comparator) {
+        List<Object> expected = new ArrayList<>(items);
+        expected.sort(comparator);
+        assertEquals(expected, sorted);
+    }
+
+    /****************************
+     * Test mocks and configs
+     ****************************/
+    static class Unordered {
+        private final String name;
+
+        Unordered(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @Order(1)
+    static class Annotated {
+    }
+
+    static class OrderedItem implements Ordered {
+        private final int order;
+
+        OrderedItem(int order) {
+            this.order = order;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}